@@ -0,0 +1,128 @@
+// Load scenario for the Classroom Buddy API:
+// register -> login -> upload -> list by subject -> /me -> search.
+//
+//   k6 run loadtest/scenario.js
+//   k6 run -e BASE_URL=http://localhost:8081 -e VUS=50 -e DURATION=2m loadtest/scenario.js
+//   k6 run -e RUN_ID=r0001 loadtest/scenario.js   (fixed username prefix, 5 characters)
+//
+// Prints p50/p99 latency and throughput per endpoint and writes the same
+// numbers to loadtest-summary.json.
+
+import http from 'k6/http';
+import { check, group } from 'k6';
+import { Trend, Counter } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8081';
+const SUBJECTS = ['Mathematics', 'Physics', 'Chemistry', 'Literature', 'Computer Science'];
+const UPLOAD_BYTES = parseInt(__ENV.UPLOAD_BYTES || '262144', 10);
+
+const ENDPOINTS = ['register', 'login', 'upload', 'list_subject', 'me', 'search'];
+const latency = {};
+const requests = {};
+for (const name of ENDPOINTS) {
+    latency[name] = new Trend(`latency_${name}`, true);
+    requests[name] = new Counter(`requests_${name}`);
+}
+
+export const options = {
+    scenarios: {
+        classroom: {
+            executor: 'constant-vus',
+            vus: parseInt(__ENV.VUS || '20', 10),
+            duration: __ENV.DURATION || '1m',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(99)', 'max'],
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        latency_list_subject: ['p(99)<500'],
+        latency_me: ['p(99)<500'],
+        latency_search: ['p(99)<800'],
+    },
+};
+
+const filler = new Uint8Array(UPLOAD_BYTES).map((_, i) => i % 251);
+
+// Every upload gets distinct bytes; identical content would be deduplicated
+// by its hash and never reach storage after the first upload.
+function uniquePayload(tag) {
+    const bytes = filler.slice();
+    for (let i = 0; i < tag.length && i < bytes.length; i++) {
+        bytes[i] = tag.charCodeAt(i);
+    }
+    return bytes.buffer;
+}
+
+// Usernames must be unique across runs against the same database and fit
+// the 15 character limit: 5 run characters + VU + iteration, in base 36.
+export function setup() {
+    return { runId: __ENV.RUN_ID || `r${Math.random().toString(36).slice(2, 6)}` };
+}
+
+function record(name, response, expectedStatus) {
+    latency[name].add(response.timings.duration);
+    requests[name].add(1);
+    check(response, { [`${name} status ${expectedStatus}`]: (r) => r.status === expectedStatus });
+    return response;
+}
+
+export default function ({ runId }) {
+    const username = `${runId}${__VU.toString(36)}x${__ITER.toString(36)}`;
+    const password = 'loadtest-password';
+    const subject = SUBJECTS[(__VU + __ITER) % SUBJECTS.length];
+    const json = { headers: { 'Content-Type': 'application/json' } };
+
+    group('auth', () => {
+        record('register', http.post(`${BASE_URL}/api/auth/register`, JSON.stringify({
+            username,
+            email: `${username}-${Date.now()}@loadtest.invalid`,
+            password,
+            role: 'ROLE_STUDENT',
+        }), json), 201);
+    });
+
+    const login = record('login', http.post(`${BASE_URL}/api/auth/login`,
+        JSON.stringify({ username, password }), json), 200);
+    const token = login.status === 200 ? login.json('data.token') : null;
+    if (!token) {
+        return;
+    }
+    const auth = { headers: { Authorization: `Bearer ${token}` } };
+
+    record('upload', http.post(`${BASE_URL}/api/material/upload`, {
+        subject,
+        file: http.file(uniquePayload(`${username}-${Date.now()}`), `${username}-notes.bin`, 'application/octet-stream'),
+    }, auth), 200);
+
+    record('list_subject', http.get(`${BASE_URL}/api/material/${encodeURIComponent(subject)}?page=0&size=20`, auth), 200);
+    record('me', http.get(`${BASE_URL}/api/material/me?page=0&size=20`, auth), 200);
+    record('search', http.get(`${BASE_URL}/api/material/search?q=${encodeURIComponent(subject)}&size=20`, auth), 200);
+}
+
+export function handleSummary(data) {
+    const seconds = data.state.testRunDurationMs / 1000;
+    const rows = {};
+    for (const name of ENDPOINTS) {
+        const trend = data.metrics[`latency_${name}`];
+        const count = data.metrics[`requests_${name}`];
+        if (!trend || !count) {
+            continue;
+        }
+        rows[name] = {
+            p50_ms: trend.values['p(50)'],
+            p99_ms: trend.values['p(99)'],
+            requests: count.values.count,
+            throughput_rps: count.values.count / seconds,
+        };
+    }
+
+    const lines = ['endpoint        p50 ms    p99 ms   req/s'];
+    for (const [name, row] of Object.entries(rows)) {
+        lines.push(`${name.padEnd(14)} ${row.p50_ms.toFixed(1).padStart(7)} ${row.p99_ms.toFixed(1).padStart(9)} ${row.throughput_rps.toFixed(1).padStart(7)}`);
+    }
+
+    return {
+        stdout: lines.join('\n') + '\n',
+        'loadtest-summary.json': JSON.stringify(rows, null, 2),
+    };
+}
@@ -0,0 +1,63 @@
+package com.DaiMiLed.server.benchmarks;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.DaiMiLed.server.jwt.JwtProvider;
+import com.DaiMiLed.server.models.Material;
+import com.DaiMiLed.server.models.Role;
+import com.DaiMiLed.server.models.RoleName;
+import com.DaiMiLed.server.models.Subject;
+import com.DaiMiLed.server.models.User;
+
+/**
+ * Builds the objects the benchmarks share without starting Spring.
+ */
+final class Fixtures {
+
+    static final String JWT_SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private Fixtures() {
+    }
+
+    static JwtProvider jwtProvider(long cacheMaxSize) {
+        JwtProvider provider = new JwtProvider(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(provider, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(provider, "expirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "cacheMaxSize", cacheMaxSize);
+        ReflectionTestUtils.invokeMethod(provider, "init");
+        return provider;
+    }
+
+    static User user() {
+        User user = new User("alice", "alice@example.com", "{noop}secret", new Role(RoleName.ROLE_STUDENT));
+        ReflectionTestUtils.setField(user, "id", 42L);
+        return user;
+    }
+
+    static List<Material> materials(int count) {
+        User user = user();
+        Subject subject = new Subject("Mathematics");
+        ReflectionTestUtils.setField(subject, "id", 7);
+
+        List<Material> materials = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Material material = new Material(
+                    subject,
+                    "document_" + i,
+                    "https://res.cloudinary.com/demo/raw/upload/Materials/documents/document_" + i + ".pdf",
+                    null,
+                    "lecture-" + i + ".pdf",
+                    user);
+            ReflectionTestUtils.setField(material, "id", (long) i);
+            ReflectionTestUtils.setField(material, "createdAt", Instant.parse("2026-01-01T00:00:00Z").plusSeconds(i));
+            materials.add(material);
+        }
+        return materials;
+    }
+}
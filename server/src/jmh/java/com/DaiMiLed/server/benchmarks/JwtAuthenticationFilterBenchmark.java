@@ -0,0 +1,66 @@
+package com.DaiMiLed.server.benchmarks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.DaiMiLed.server.jwt.JwtAuthenticationFilter;
+import com.DaiMiLed.server.jwt.JwtProvider;
+import com.DaiMiLed.server.jwt.PrincipalCache;
+
+/**
+ * One authenticated request through the JWT filter, from reading the header
+ * to populating the security context. Tokens carry the id and role claims,
+ * so the principal cache and database are never consulted.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtProvider jwtProvider = Fixtures.jwtProvider(10_000);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PrincipalCache principalCache = new PrincipalCache(null, 10_000, Duration.ofMinutes(5), meterRegistry);
+        filter = new JwtAuthenticationFilter(jwtProvider, principalCache, meterRegistry);
+        authorizationHeader = "Bearer " + jwtProvider.generateToken(Fixtures.user());
+    }
+
+    @Benchmark
+    public Authentication authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/material/me");
+        request.addHeader("Authorization", authorizationHeader);
+
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
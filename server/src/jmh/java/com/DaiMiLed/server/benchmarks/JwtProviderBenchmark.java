@@ -0,0 +1,64 @@
+package com.DaiMiLed.server.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.DaiMiLed.server.jwt.JwtProvider;
+import com.DaiMiLed.server.models.User;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Token parsing with and without the verified-claims cache, and token
+ * generation as done on every login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtProviderBenchmark {
+
+    private JwtProvider cachedProvider;
+
+    private JwtProvider uncachedProvider;
+
+    private User user;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedProvider = Fixtures.jwtProvider(10_000);
+        uncachedProvider = Fixtures.jwtProvider(0);
+        user = Fixtures.user();
+        token = cachedProvider.generateToken(user);
+        cachedProvider.parseClaims(token);
+    }
+
+    @Benchmark
+    public Claims parseClaimsCached() {
+        return cachedProvider.parseClaims(token).orElseThrow();
+    }
+
+    @Benchmark
+    public Claims parseClaimsUncached() {
+        return uncachedProvider.parseClaims(token).orElseThrow();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedProvider.generateToken(user);
+    }
+}
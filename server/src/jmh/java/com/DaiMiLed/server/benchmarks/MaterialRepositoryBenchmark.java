@@ -0,0 +1,162 @@
+package com.DaiMiLed.server.benchmarks;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.DaiMiLed.server.ServerApplication;
+import com.DaiMiLed.server.dtos.Materials.MaterialResponse;
+import com.DaiMiLed.server.models.Material;
+import com.DaiMiLed.server.repositories.MaterialsRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Subject listing queries against an in-memory H2 database in PostgreSQL
+ * mode. {@code entityListing} is the previous JOIN FETCH query that
+ * hydrates Material and User entities. {@code projectionListing} is the
+ * constructor-expression query used now. Run with {@code -prof gc} to
+ * compare allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MaterialRepositoryBenchmark {
+
+    private static final int MATERIALS = 5_000;
+
+    private static final int SUBJECTS = 10;
+
+    private ConfigurableApplicationContext context;
+
+    private MaterialsRepository materialsRepository;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate readOnly;
+
+    private Integer subjectId;
+
+    private final Pageable firstPage = PageRequest.of(0, 20);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ServerApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.application.name=benchmark",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.flyway.enabled=false",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--server.port=0",
+                "--app.schema.verify-indexes=false",
+                "--app.storage.type=local",
+                "--app.feed.relay=local",
+                "--app.storage.local.root=target/benchmark-storage",
+                "--app.cors.allowed-origins=*",
+                "--jwt.secret=" + Fixtures.JWT_SECRET,
+                "--expiration.ms=3600000",
+                "--cloudinary.cloud_name=benchmark",
+                "--cloudinary.api_key=benchmark",
+                "--cloudinary.api_secret=benchmark");
+
+        materialsRepository = context.getBean(MaterialsRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        subjectId = seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<MaterialResponse> entityListing() {
+        return readOnly.execute(status -> {
+            List<MaterialResponse> content = entityManager.createQuery(
+                            "SELECT m FROM Material m JOIN FETCH m.user JOIN FETCH m.subject "
+                                    + "WHERE m.subject.id = :subjectId", Material.class)
+                    .setParameter("subjectId", subjectId)
+                    .setFirstResult((int) firstPage.getOffset())
+                    .setMaxResults(firstPage.getPageSize())
+                    .getResultList()
+                    .stream()
+                    .map(MaterialResponse::new)
+                    .toList();
+            Long total = entityManager.createQuery(
+                            "SELECT COUNT(m) FROM Material m WHERE m.subject.id = :subjectId", Long.class)
+                    .setParameter("subjectId", subjectId)
+                    .getSingleResult();
+            return new PageImpl<>(content, firstPage, total);
+        });
+    }
+
+    @Benchmark
+    public Page<MaterialResponse> projectionListing() {
+        return readOnly.execute(status -> materialsRepository.findResponsesBySubject(subjectId, firstPage));
+    }
+
+    private static Integer seed(JdbcTemplate jdbc) {
+        Long roleId = jdbc.queryForObject("SELECT id FROM roles WHERE name = 'ROLE_STUDENT'", Long.class);
+        jdbc.update("INSERT INTO users (username, email, password_hash, role_id) VALUES (?, ?, ?, ?)",
+                "bench", "bench@example.com", "{noop}bench", roleId);
+        Long userId = jdbc.queryForObject("SELECT id FROM users WHERE username = 'bench'", Long.class);
+
+        for (int i = 0; i < SUBJECTS; i++) {
+            jdbc.update("INSERT INTO subjects (name, normalized_name) VALUES (?, ?)", "Subject " + i, "subject " + i);
+        }
+        List<Integer> subjectIds = jdbc.queryForList("SELECT id FROM subjects ORDER BY id", Integer.class);
+
+        Instant start = Instant.parse("2026-01-01T00:00:00Z");
+        List<Object[]> rows = new ArrayList<>(MATERIALS);
+        for (int i = 0; i < MATERIALS; i++) {
+            rows.add(new Object[] {
+                    i + 1L,
+                    subjectIds.get(i % SUBJECTS),
+                    "document_" + i,
+                    "https://example.com/document_" + i + ".pdf",
+                    "lecture-" + i + ".pdf",
+                    Timestamp.from(start.plusSeconds(i)),
+                    userId
+            });
+        }
+        // Material ids come from a pooled sequence Hibernate draws itself, so
+        // plain JDBC inserts have to supply them.
+        jdbc.batchUpdate("INSERT INTO materials (id, subject_id, storage_key, url, original_filename, created_at, user_id, "
+                + "processing_status, processing_attempts) VALUES (?, ?, ?, ?, ?, ?, ?, 'SKIPPED', 0)", rows);
+
+        return subjectIds.get(0);
+    }
+}
@@ -0,0 +1,70 @@
+package com.DaiMiLed.server.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import com.DaiMiLed.server.dtos.ApiResponse;
+import com.DaiMiLed.server.dtos.Materials.MaterialResponse;
+import com.DaiMiLed.server.models.Material;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Mapping a page of materials to responses and serializing the resulting
+ * {@link ApiResponse} the way the listing endpoints do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaterialResponseBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private List<Material> materials;
+
+    private ApiResponse response;
+
+    private JsonMapper jsonMapper;
+
+    @Setup
+    public void setUp() {
+        materials = Fixtures.materials(pageSize);
+        jsonMapper = JsonMapper.builder().build();
+        response = new ApiResponse(200, "Materials retrieved successfully", new PageImpl<>(
+                map(), PageRequest.of(0, pageSize), 10_000));
+    }
+
+    @Benchmark
+    public List<MaterialResponse> mapEntities() {
+        return map();
+    }
+
+    @Benchmark
+    public byte[] serializeApiResponse() {
+        return jsonMapper.writeValueAsBytes(response);
+    }
+
+    private List<MaterialResponse> map() {
+        return materials.stream()
+                .map(MaterialResponse::new)
+                .toList();
+    }
+}
@@ -0,0 +1,198 @@
+package com.DaiMiLed.server.benchmarks;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.DaiMiLed.server.bulkheads.Bulkhead;
+import com.DaiMiLed.server.bulkheads.BulkheadDataSource;
+import com.DaiMiLed.server.exceptions.BulkheadFullException;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * A burst of blocking requests under the two request thread modes: a
+ * platform pool the size of Tomcat's default, and one virtual thread per
+ * request. Every request holds a Hikari connection (H2 in memory) behind
+ * the database bulkhead for {@code DB_TIME_MS}; one in ten first makes a
+ * slow storage call behind the storage bulkhead. {@code burst} times the
+ * whole burst and counts 503s in {@code rejected} (summed over iterations);
+ * {@code dbOnlyRequests} times only the requests without a storage call.
+ * Only the platform mode runs by default, because the benchmarks build and
+ * usually run on Java 17. The virtual mode needs a Java 21+ JVM and is
+ * asked for explicitly, e.g. {@code -Djmh.args="ThreadMode -p
+ * threadMode=platform,virtual -jvm /path/to/jdk21/bin/java"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ThreadModeBenchmark {
+
+    private static final int REQUESTS = 2_000;
+
+    private static final int PLATFORM_THREADS = 200;
+
+    private static final int STORAGE_EVERY = 10;
+
+    private static final long DB_TIME_MS = 2;
+
+    private static final long STORAGE_TIME_MS = 200;
+
+    @Param({"platform"})
+    public String threadMode;
+
+    @Param({"10", "50"})
+    public int poolSize;
+
+    private HikariDataSource pool;
+
+    private DataSource dataSource;
+
+    private Bulkhead storageBulkhead;
+
+    private ExecutorService requestThreads;
+
+    private List<Future<Boolean>> storageRequests;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rejected = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:thread-mode;DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(poolSize);
+        pool.setMinimumIdle(poolSize);
+        pool.setConnectionTimeout(5_000);
+
+        dataSource = new BulkheadDataSource(pool,
+                new Bulkhead("database", poolSize, Duration.ofSeconds(2), meterRegistry));
+        storageBulkhead = new Bulkhead("storage", 32, Duration.ofSeconds(5), meterRegistry);
+
+        requestThreads = threadMode.equals("virtual")
+                ? virtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestThreads.shutdownNow();
+        pool.close();
+    }
+
+    @Benchmark
+    public void burst(Outcomes outcomes) throws Exception {
+        List<Future<Boolean>> requests = submitBurst();
+        requests.addAll(storageRequests);
+        storageRequests = List.of();
+
+        for (Future<Boolean> request : requests) {
+            if (!request.get()) {
+                outcomes.rejected++;
+            }
+        }
+    }
+
+    /**
+     * Same burst, timed only until the requests without a storage call have
+     * finished, i.e. how much the slow storage calls hold up everyone else.
+     */
+    @Benchmark
+    public void dbOnlyRequests() throws Exception {
+        for (Future<Boolean> request : submitBurst()) {
+            request.get();
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void drainStorageRequests() throws Exception {
+        for (Future<Boolean> request : storageRequests) {
+            request.get();
+        }
+    }
+
+    private List<Future<Boolean>> submitBurst() {
+        List<Future<Boolean>> dbOnly = new ArrayList<>(REQUESTS);
+        storageRequests = new ArrayList<>(REQUESTS / STORAGE_EVERY);
+
+        for (int i = 0; i < REQUESTS; i++) {
+            if (i % STORAGE_EVERY == 0) {
+                storageRequests.add(requestThreads.submit(() -> handle(true)));
+            } else {
+                dbOnly.add(requestThreads.submit(() -> handle(false)));
+            }
+        }
+        return dbOnly;
+    }
+
+    private boolean handle(boolean callsStorage) throws Exception {
+        try {
+            if (callsStorage) {
+                try (Bulkhead.Permit permit = storageBulkhead.acquire()) {
+                    Thread.sleep(STORAGE_TIME_MS);
+                }
+            }
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("SELECT 1");
+                 ResultSet rows = statement.executeQuery()) {
+                rows.next();
+                Thread.sleep(DB_TIME_MS);
+            }
+            return true;
+        } catch (BulkheadFullException e) {
+            return false;
+        }
+    }
+
+    /**
+     * The benchmarks compile for Java 17, so the Java 21 factory is looked
+     * up at run time.
+     */
+    private static ExecutorService virtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads need a Java 21+ JVM", e);
+        }
+    }
+}
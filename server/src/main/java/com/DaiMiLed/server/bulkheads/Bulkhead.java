@@ -0,0 +1,79 @@
+package com.DaiMiLed.server.bulkheads;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.DaiMiLed.server.exceptions.BulkheadFullException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caps how many callers may use a shared dependency at once. A caller that
+ * finds no free slot waits up to {@code maxWait} and is then rejected, so a
+ * slow dependency is answered with quick 503s instead of an ever-growing
+ * number of blocked threads. Slots are handed out in arrival order.
+ */
+@Slf4j
+public class Bulkhead {
+
+    private final String name;
+    private final Semaphore slots;
+    private final long maxWaitMs;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int maxConcurrent, Duration maxWait, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.slots = new Semaphore(maxConcurrent, true);
+        this.maxWaitMs = maxWait.toMillis();
+
+        Gauge.builder("bulkhead.available", slots, Semaphore::availablePermits)
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.waiting", slots, Semaphore::getQueueLength)
+                .tag("name", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("bulkhead.rejected")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a slot, waiting up to the configured time for one to free up.
+     *
+     * @return permit that must be closed once the call has finished
+     * @throws BulkheadFullException if no slot freed up in time
+     */
+    public Permit acquire() {
+        try {
+            if (!slots.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                log.warn("{} bulkhead full, call rejected", name);
+                throw new BulkheadFullException(name);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadFullException(name);
+        }
+
+        return new Permit();
+    }
+
+    public final class Permit implements AutoCloseable {
+        private boolean released;
+
+        private Permit() {
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                slots.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.DaiMiLed.server.bulkheads;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Stream that keeps a bulkhead slot until it is closed, for calls whose
+ * response is read after the call itself has returned.
+ */
+public class PermitReleasingInputStream extends FilterInputStream {
+
+    private final Bulkhead.Permit permit;
+
+    public PermitReleasingInputStream(InputStream in, Bulkhead.Permit permit) {
+        super(in);
+        this.permit = permit;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            permit.close();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.DaiMiLed.server.caching;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import com.DaiMiLed.server.dtos.Materials.MaterialResponse;
+
+import lombok.Getter;
+
+/**
+ * Cached content of one listing page. Only the rows and the total are kept,
+ * so the value can be shared between nodes by a distributed tier.
+ */
+@Getter
+public class CachedPage {
+    private final List<MaterialResponse> content;
+    private final long totalElements;
+
+    public CachedPage(Page<MaterialResponse> page) {
+        this.content = List.copyOf(page.getContent());
+        this.totalElements = page.getTotalElements();
+    }
+
+    public Page<MaterialResponse> toPage(Pageable pageable) {
+        return new PageImpl<>(content, pageable, totalElements);
+    }
+}
@@ -0,0 +1,27 @@
+package com.DaiMiLed.server.caching;
+
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default tier for single-node deployments: nothing is shared.
+ */
+@Component
+@ConditionalOnProperty(name = "app.material.page-cache.distributed", havingValue = "none", matchIfMissing = true)
+public class NoOpSubjectPageCacheTier implements SubjectPageCacheTier {
+
+    @Override
+    public Optional<CachedPage> get(SubjectPageKey key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(SubjectPageKey key, CachedPage page) {
+    }
+
+    @Override
+    public void invalidateSubject(Integer subjectId) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.DaiMiLed.server.caching;
+
+import java.util.Optional;
+
+/**
+ * Optional shared cache behind the per-node subject page cache, for
+ * deployments with several server nodes. The active implementation is
+ * selected with the {@code app.material.page-cache.distributed} property.
+ */
+public interface SubjectPageCacheTier {
+
+    Optional<CachedPage> get(SubjectPageKey key);
+
+    void put(SubjectPageKey key, CachedPage page);
+
+    /**
+     * Drops every cached page of the subject on all nodes.
+     */
+    void invalidateSubject(Integer subjectId);
+}
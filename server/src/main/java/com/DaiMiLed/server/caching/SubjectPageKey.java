@@ -0,0 +1,27 @@
+package com.DaiMiLed.server.caching;
+
+import org.springframework.data.domain.Pageable;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Identifies one page of a subject listing.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class SubjectPageKey {
+    private final Integer subjectId;
+    private final int page;
+    private final int size;
+    private final String sort;
+
+    public SubjectPageKey(Integer subjectId, Pageable pageable) {
+        this.subjectId = subjectId;
+        this.page = pageable.getPageNumber();
+        this.size = pageable.getPageSize();
+        this.sort = pageable.getSort().toString();
+    }
+}
@@ -0,0 +1,76 @@
+package com.DaiMiLed.server.configs;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.DaiMiLed.server.bulkheads.Bulkhead;
+import com.DaiMiLed.server.bulkheads.BulkheadDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bulkheads around the two blocking dependencies of a request: the database
+ * and the storage backend. They keep the number of threads stuck on either
+ * one bounded, which matters most with virtual threads, where the number of
+ * request threads itself is not.
+ */
+@Configuration
+public class BulkheadConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    /**
+     * Unless set explicitly, the database bulkhead admits as many callers as
+     * there are connections: the primary pool, plus the replica pool when the
+     * replica is enabled, since read-only work draws from that one instead.
+     */
+    @Bean
+    public Bulkhead databaseBulkhead(
+            @Value("${app.bulkhead.database.max-concurrent}") int maxConcurrent,
+            @Value("${app.bulkhead.database.max-wait}") Duration maxWait,
+            @Value("${spring.datasource.hikari.maximum-pool-size}") int primaryPoolSize,
+            @Value("${app.datasource.replica.enabled}") boolean replicaEnabled,
+            @Value("${app.datasource.replica.hikari.maximum-pool-size}") int replicaPoolSize,
+            MeterRegistry meterRegistry) {
+        if (maxConcurrent <= 0) {
+            maxConcurrent = primaryPoolSize + (replicaEnabled ? replicaPoolSize : 0);
+        }
+        return new Bulkhead("database", maxConcurrent, maxWait, meterRegistry);
+    }
+
+    @Bean
+    public Bulkhead storageBulkhead(
+            @Value("${app.bulkhead.storage.max-concurrent}") int maxConcurrent,
+            @Value("${app.bulkhead.storage.max-wait}") Duration maxWait,
+            MeterRegistry meterRegistry) {
+        return new Bulkhead("storage", maxConcurrent, maxWait, meterRegistry);
+    }
+
+    /**
+     * Wraps the application's primary datasource, whether that is Spring
+     * Boot's auto-configured pool or the replica routing datasource, in the
+     * database bulkhead. The pools behind it stay reachable through
+     * {@code unwrap} for the Hikari metrics.
+     */
+    @Bean
+    public static BeanPostProcessor databaseBulkheadPostProcessor(
+            @Qualifier("databaseBulkhead") ObjectProvider<Bulkhead> databaseBulkhead) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource) {
+                    return new BulkheadDataSource(dataSource, databaseBulkhead.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
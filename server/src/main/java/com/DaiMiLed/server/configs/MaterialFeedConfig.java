@@ -0,0 +1,42 @@
+package com.DaiMiLed.server.configs;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Threads that write frames to live feed connections.
+ */
+@Configuration
+public class MaterialFeedConfig {
+
+    @Value("${app.feed.senders}")
+    private int senders;
+
+    @Value("${app.feed.max-subscribers}")
+    private int maxSubscribers;
+
+    /**
+     * Each connection has at most one drain task queued, so a queue as large
+     * as the connection limit never overflows in practice. If it does, the
+     * connection whose task was rejected is closed.
+     *
+     * @return executor used by the material feed hub
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor feedSenderExecutor() {
+        return new ThreadPoolExecutor(
+                senders,
+                senders,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxSubscribers),
+                new CustomizableThreadFactory("feed-sender-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,42 @@
+package com.DaiMiLed.server.configs;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Bounded executor for post-upload processing. It is kept separate from the
+ * upload job pool so slow PDF rendering never delays uploads.
+ */
+@Configuration
+public class MaterialProcessingExecutorConfig {
+
+    @Value("${app.processing.workers}")
+    private int workers;
+
+    @Value("${app.processing.queue-capacity}")
+    private int queueCapacity;
+
+    /**
+     * Fixed-size pool with a bounded queue. Rejected work stays PENDING in
+     * the database and is picked up by the next sweep.
+     *
+     * @return executor used by the processing pipeline
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor materialProcessingExecutor() {
+        return new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("material-processing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,91 @@
+package com.DaiMiLed.server.configs;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.DaiMiLed.server.metrics.TimedPasswordEncoder;
+import com.DaiMiLed.server.passwords.PooledPasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Password encoding: which algorithm new hashes use, and the bounded pool
+ * the hashing runs on.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    private static final String BCRYPT = "bcrypt";
+    private static final String ARGON2 = "argon2";
+
+    @Value("${app.auth.password.encoder}")
+    private String encoderId;
+
+    @Value("${app.auth.password.bcrypt-strength}")
+    private int bcryptStrength;
+
+    @Value("${app.auth.password.workers}")
+    private int workers;
+
+    @Value("${app.auth.password.queue-capacity}")
+    private int queueCapacity;
+
+    /**
+     * Hashes are stored as {@code {id}hash}, so changing
+     * {@code app.auth.password.encoder} or the BCrypt strength only affects
+     * new hashes; existing ones keep verifying and are rehashed on the
+     * user's next login. Hashes from before the prefix was introduced are
+     * plain BCrypt.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Qualifier("passwordHashingExecutor") ThreadPoolExecutor passwordHashingExecutor,
+            MeterRegistry meterRegistry) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                BCRYPT, bcrypt,
+                ARGON2, Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(encoderId)) {
+            throw new IllegalStateException("Unknown app.auth.password.encoder: " + encoderId);
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encoderId, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return new PooledPasswordEncoder(
+                new TimedPasswordEncoder(delegating, meterRegistry),
+                passwordHashingExecutor);
+    }
+
+    /**
+     * One worker per core by default (password hashing is pure CPU work),
+     * with a bounded queue. When the queue is full the executor rejects the
+     * task and the caller answers with 429.
+     *
+     * @return executor used for password hashing and verification
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashingExecutor() {
+        int poolSize = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,12 @@
+package com.DaiMiLed.server.configs;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background tasks such as replica health checks.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,68 @@
+package com.DaiMiLed.server.configs;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Dedicated, bounded executors for upload work: asynchronous upload jobs,
+ * so that slow storage round-trips never occupy Tomcat request threads,
+ * and the parallel storage writes of batch uploads.
+ */
+@Configuration
+public class UploadExecutorConfig {
+
+    @Value("${app.upload.jobs.workers}")
+    private int workers;
+
+    @Value("${app.upload.jobs.queue-capacity}")
+    private int queueCapacity;
+
+    @Value("${app.upload.batch.workers}")
+    private int batchWorkers;
+
+    @Value("${app.upload.batch.queue-capacity}")
+    private int batchQueueCapacity;
+
+    /**
+     * Fixed-size pool with a bounded queue. When the queue is full the
+     * executor rejects the task and the caller answers with 429.
+     *
+     * @return executor used by the upload job service
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor uploadJobExecutor() {
+        return new ThreadPoolExecutor(
+                workers,
+                workers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("upload-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Shared pool for the storage writes of batch uploads. Each batch caps
+     * how many of its files are in flight at once, so one large batch
+     * cannot take every worker.
+     *
+     * @return executor used by batch uploads
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor batchUploadExecutor() {
+        return new ThreadPoolExecutor(
+                batchWorkers,
+                batchWorkers,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(batchQueueCapacity),
+                new CustomizableThreadFactory("batch-upload-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
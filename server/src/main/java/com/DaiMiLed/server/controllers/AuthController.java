@@ -4,11 +4,13 @@ import com.DaiMiLed.server.dtos.ApiResponse;
 import com.DaiMiLed.server.dtos.AuthResponse;
 import com.DaiMiLed.server.dtos.LoginRequest;
 import com.DaiMiLed.server.dtos.RegisterRequest;
+import com.DaiMiLed.server.jwt.AuthenticatedUser;
 import com.DaiMiLed.server.services.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -42,4 +44,18 @@ public class AuthController {
         );
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Short-lived token for opening the live feed with the browser
+     * {@code EventSource}, which cannot send the Authorization header.
+     */
+    @PostMapping("/feed-token")
+    public ResponseEntity<ApiResponse> feedToken(@AuthenticationPrincipal AuthenticatedUser principal) {
+        ApiResponse response = new ApiResponse(
+                HttpStatus.OK.value(),
+                "Feed token issued",
+                authService.issueFeedToken(principal)
+        );
+        return ResponseEntity.ok(response);
+    }
 }
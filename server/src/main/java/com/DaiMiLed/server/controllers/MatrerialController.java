@@ -1,23 +1,50 @@
 package com.DaiMiLed.server.controllers;
 
-import com.DaiMiLed.server.jwt.JwtProvider;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.DaiMiLed.server.exceptions.DirectUploadUnsupportedException;
+import com.DaiMiLed.server.jwt.AuthenticatedUser;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import org.apache.http.HttpStatus;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import com.DaiMiLed.server.dtos.ApiResponse;
+import com.DaiMiLed.server.dtos.Materials.BatchMaterialRequest;
+import com.DaiMiLed.server.dtos.Materials.BatchUploadResult;
+import com.DaiMiLed.server.dtos.Materials.CursorPage;
+import com.DaiMiLed.server.dtos.Materials.DirectUploadConfirmRequest;
+import com.DaiMiLed.server.dtos.Materials.DirectUploadRequest;
+import com.DaiMiLed.server.dtos.Materials.DirectUploadTicket;
+import com.DaiMiLed.server.dtos.Materials.ListingVersion;
 import com.DaiMiLed.server.dtos.Materials.MaterialRequest;
 import com.DaiMiLed.server.dtos.Materials.MaterialResponse;
+import com.DaiMiLed.server.dtos.Materials.UploadJobResponse;
+import com.DaiMiLed.server.services.Materials.DirectUploadService;
+import com.DaiMiLed.server.services.Materials.MaterialFeedService;
 import com.DaiMiLed.server.services.Materials.MaterialsService;
+import com.DaiMiLed.server.services.Materials.UploadJobService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -25,24 +52,100 @@ import lombok.RequiredArgsConstructor;
 @RequestMapping("/api/material")
 @RequiredArgsConstructor
 public class MatrerialController {
-    private final JwtProvider jwtProvider;
+    private static final int MAX_SCROLL_SIZE = 100;
+
+    private static final String LISTING_CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
     private final MaterialsService materialsService;
+    private final UploadJobService uploadJobService;
+    private final Optional<DirectUploadService> directUploadService;
+    private final MaterialFeedService materialFeedService;
 
     @PostMapping(value = "/upload", consumes = "multipart/form-data")
     public ResponseEntity<ApiResponse> uploadMaterial(
-            @ModelAttribute MaterialRequest request, @RequestHeader("Authorization") String authHeader) {
-            String token = jwtProvider.extractTokenFromHeader(authHeader);
-
-            Long id = materialsService.crateMaterial(request, token);
+            @ModelAttribute MaterialRequest request, @AuthenticationPrincipal AuthenticatedUser principal) {
+            Long id = materialsService.crateMaterial(request, principal);
 
             return ResponseEntity.ok(new ApiResponse(HttpStatus.SC_CREATED, "Material created successfully", id));
     }
 
+    @PostMapping(value = "/upload/batch", consumes = "multipart/form-data")
+    public ResponseEntity<ApiResponse> uploadMaterials(
+            @ModelAttribute BatchMaterialRequest request, @AuthenticationPrincipal AuthenticatedUser principal) {
+        List<BatchUploadResult> results = materialsService.crateMaterials(request, principal);
+        long created = results.stream().filter(BatchUploadResult::isCreated).count();
+
+        return ResponseEntity.ok(new ApiResponse(
+                HttpStatus.SC_OK, created + " of " + results.size() + " materials created", results));
+    }
+
+    @PostMapping(value = "/upload/async", consumes = "multipart/form-data")
+    public ResponseEntity<ApiResponse> uploadMaterialAsync(
+            @ModelAttribute MaterialRequest request, @AuthenticationPrincipal AuthenticatedUser principal) {
+        UploadJobResponse job = uploadJobService.submit(request, principal);
+
+        return ResponseEntity.accepted().body(new ApiResponse(HttpStatus.SC_ACCEPTED, "Upload accepted", job));
+    }
+
+    /**
+     * Step one of a direct upload: signed parameters for sending the file
+     * straight to storage.
+     */
+    @PostMapping("/upload/direct")
+    public ResponseEntity<ApiResponse> requestDirectUpload(
+            @Valid @RequestBody DirectUploadRequest request, @AuthenticationPrincipal AuthenticatedUser principal) {
+        DirectUploadTicket ticket = directUploads().issueTicket(request, principal);
+
+        return ResponseEntity.ok(new ApiResponse(HttpStatus.SC_OK, "Direct upload ticket issued", ticket));
+    }
+
+    /**
+     * Step two: records the material once storage has the file.
+     */
+    @PostMapping("/upload/direct/confirm")
+    public ResponseEntity<ApiResponse> confirmDirectUpload(
+            @Valid @RequestBody DirectUploadConfirmRequest request, @AuthenticationPrincipal AuthenticatedUser principal) {
+        Long id = directUploads().confirm(request, principal);
+
+        return ResponseEntity.ok(new ApiResponse(HttpStatus.SC_CREATED, "Material created successfully", id));
+    }
+
+    @GetMapping("/upload/{jobId}")
+    public ResponseEntity<ApiResponse> getUploadStatus(
+            @PathVariable UUID jobId, @AuthenticationPrincipal AuthenticatedUser principal) {
+        UploadJobResponse job = uploadJobService.getStatus(jobId, principal);
+
+        return ResponseEntity.ok(new ApiResponse(HttpStatus.SC_OK, "Upload status retrieved successfully", job));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse> searchMaterials(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String subject,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), clampSize(size));
+        Slice<MaterialResponse> materials = materialsService.searchMaterials(query, subject, pageable, withTotal);
+        ApiResponse response = new ApiResponse(
+                HttpStatus.SC_OK,
+                "Materials retrieved successfully",
+                materials
+        );
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{subject_name}")
     public ResponseEntity<ApiResponse> getMaterialsBySubject(
             @PathVariable String subject_name,
-            @PageableDefault Pageable pageable
+            @PageableDefault Pageable pageable,
+            ServletWebRequest webRequest
     ) {
+        if (isNotModified(webRequest, materialsService.getSubjectListingVersion(subject_name), pageable)) {
+            return null;
+        }
+
         Page<MaterialResponse> materials = materialsService
                 .getMaterialsBySubject(subject_name, pageable);
         ApiResponse response = new ApiResponse(
@@ -55,12 +158,15 @@ public class MatrerialController {
 
     @GetMapping("/me")
     public ResponseEntity<ApiResponse> getMaterialsForCurrentUser(
-            @RequestHeader("Authorization") String authHeader,
-            @PageableDefault Pageable pageable
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @PageableDefault Pageable pageable,
+            ServletWebRequest webRequest
     ) {
-        String token = jwtProvider.extractTokenFromHeader(authHeader);
+        if (isNotModified(webRequest, Optional.of(materialsService.getUserListingVersion(principal.getId())), pageable)) {
+            return null;
+        }
 
-        Page<MaterialResponse> materials = materialsService.getMaterialsByUser(token, pageable);
+        Page<MaterialResponse> materials = materialsService.getMaterialsByUser(principal.getId(), pageable);
 
         ApiResponse response = new ApiResponse(
                 HttpStatus.SC_OK,
@@ -70,4 +176,90 @@ public class MatrerialController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Live feed of materials added to the subject, as Server-Sent Events.
+     */
+    @GetMapping(value = "/{subject_name}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void subscribeToSubject(@PathVariable String subject_name, HttpServletRequest request) throws IOException {
+        materialFeedService.subscribeToSubject(subject_name, request);
+    }
+
+    /**
+     * Live feed of materials added by the current user, as Server-Sent Events.
+     */
+    @GetMapping(value = "/me/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void subscribeToCurrentUser(
+            @AuthenticationPrincipal AuthenticatedUser principal, HttpServletRequest request) throws IOException {
+        materialFeedService.subscribeToUser(principal.getId(), request);
+    }
+
+    @GetMapping("/{subject_name}/scroll")
+    public ResponseEntity<ApiResponse> scrollMaterialsBySubject(
+            @PathVariable String subject_name,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            ServletWebRequest webRequest
+    ) {
+        String variant = cursor + "|" + clampSize(size) + "|" + withTotal;
+        if (isNotModified(webRequest, materialsService.getSubjectListingVersion(subject_name), variant)) {
+            return null;
+        }
+
+        CursorPage<MaterialResponse> materials = materialsService
+                .scrollMaterialsBySubject(subject_name, cursor, clampSize(size), withTotal);
+        ApiResponse response = new ApiResponse(
+                HttpStatus.SC_OK,
+                "Materials retrieved successfully",
+                materials
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/me/scroll")
+    public ResponseEntity<ApiResponse> scrollMaterialsForCurrentUser(
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            ServletWebRequest webRequest
+    ) {
+        String variant = cursor + "|" + clampSize(size) + "|" + withTotal;
+        if (isNotModified(webRequest, Optional.of(materialsService.getUserListingVersion(principal.getId())), variant)) {
+            return null;
+        }
+
+        CursorPage<MaterialResponse> materials = materialsService
+                .scrollMaterialsByUser(principal.getId(), cursor, clampSize(size), withTotal);
+        ApiResponse response = new ApiResponse(
+                HttpStatus.SC_OK,
+                "Materials retrieved successfully",
+                materials
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Answers a conditional GET from the in-memory listing version. When
+     * the client's copy is current the response is completed as a 304 and
+     * the listing is never queried. Otherwise the ETag and Last-Modified
+     * headers are set for the full response.
+     */
+    private static boolean isNotModified(ServletWebRequest webRequest, Optional<ListingVersion> version, Object variant) {
+        if (version.isEmpty()) {
+            return false;
+        }
+
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, LISTING_CACHE_CONTROL);
+        return webRequest.checkNotModified(version.get().eTag(variant), version.get().getLastModified().toEpochMilli());
+    }
+
+    private DirectUploadService directUploads() {
+        return directUploadService.orElseThrow(DirectUploadUnsupportedException::new);
+    }
+
+    private static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+    }
 }
@@ -0,0 +1,105 @@
+package com.DaiMiLed.server.controllers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.DaiMiLed.server.dtos.Materials.ResumableUploadStatus;
+import com.DaiMiLed.server.jwt.AuthenticatedUser;
+import com.DaiMiLed.server.services.Materials.ResumableUploadService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * tus 1.0 endpoints (core protocol plus the creation and expiration
+ * extensions) for uploads that can resume after a dropped connection.
+ * Responses carry the protocol headers only; once the last chunk is in,
+ * {@code Upload-Material-Id} holds the created material's ID.
+ */
+@RestController
+@RequestMapping("/api/material/upload/resumable")
+@RequiredArgsConstructor
+public class ResumableUploadController {
+
+    private static final String TUS_RESUMABLE = "Tus-Resumable";
+    private static final String TUS_VERSION = "1.0.0";
+    private static final String UPLOAD_LENGTH = "Upload-Length";
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+    private static final String UPLOAD_METADATA = "Upload-Metadata";
+    private static final String UPLOAD_EXPIRES = "Upload-Expires";
+    private static final String UPLOAD_MATERIAL_ID = "Upload-Material-Id";
+
+    private static final String OFFSET_CONTENT_TYPE = "application/offset+octet-stream";
+
+    private final ResumableUploadService resumableUploadService;
+
+    @PostMapping
+    public ResponseEntity<Void> create(
+            @RequestHeader(UPLOAD_LENGTH) long uploadLength,
+            @RequestHeader(value = UPLOAD_METADATA, required = false) String metadata,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        ResumableUploadStatus status = resumableUploadService.create(uploadLength, metadata, principal);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(status.getId())
+                .toUri();
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .headers(headers(status))
+                .location(location)
+                .build();
+    }
+
+    @RequestMapping(value = "/{id}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> status(
+            @PathVariable UUID id, @AuthenticationPrincipal AuthenticatedUser principal) {
+        ResumableUploadStatus status = resumableUploadService.getStatus(id, principal);
+
+        return ResponseEntity.ok()
+                .headers(headers(status))
+                .header(UPLOAD_LENGTH, String.valueOf(status.getLength()))
+                .cacheControl(CacheControl.noStore())
+                .build();
+    }
+
+    @PatchMapping(value = "/{id}", consumes = OFFSET_CONTENT_TYPE)
+    public ResponseEntity<Void> append(
+            @PathVariable UUID id,
+            @RequestHeader(UPLOAD_OFFSET) long offset,
+            HttpServletRequest request,
+            @AuthenticationPrincipal AuthenticatedUser principal) throws IOException {
+        ResumableUploadStatus status = resumableUploadService.append(id, offset, request.getInputStream(), principal);
+
+        return ResponseEntity.noContent()
+                .headers(headers(status))
+                .build();
+    }
+
+    private static HttpHeaders headers(ResumableUploadStatus status) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(TUS_RESUMABLE, TUS_VERSION);
+        headers.set(UPLOAD_OFFSET, String.valueOf(status.getOffset()));
+        headers.set(UPLOAD_EXPIRES, DateTimeFormatter.RFC_1123_DATE_TIME.format(status.getExpiresAt().atOffset(ZoneOffset.UTC)));
+        if (status.getMaterialId() != null) {
+            headers.set(UPLOAD_MATERIAL_ID, String.valueOf(status.getMaterialId()));
+        }
+        return headers;
+    }
+}
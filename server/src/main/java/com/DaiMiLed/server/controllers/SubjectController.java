@@ -0,0 +1,33 @@
+package com.DaiMiLed.server.controllers;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.DaiMiLed.server.dtos.ApiResponse;
+import com.DaiMiLed.server.dtos.Subjects.SubjectResponse;
+import com.DaiMiLed.server.services.Subjects.SubjectService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/subjects")
+@RequiredArgsConstructor
+public class SubjectController {
+    private final SubjectService subjectService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse> getSubjects() {
+        List<SubjectResponse> subjects = subjectService.getSubjects();
+        ApiResponse response = new ApiResponse(
+                HttpStatus.OK.value(),
+                "Subjects retrieved successfully",
+                subjects
+        );
+        return ResponseEntity.ok(response);
+    }
+}
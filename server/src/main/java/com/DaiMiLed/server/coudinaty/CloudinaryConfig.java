@@ -3,6 +3,7 @@ package com.DaiMiLed.server.coudinaty;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,12 +12,14 @@ import org.springframework.context.annotation.Configuration;
  * Configuration class for Cloudinary integration.
  * Sets up the Cloudinary bean using properties from application configuration.
  * Used for handling image uploads (e.g., user profiles).
+ * Only active when Cloudinary is the selected material storage.
  * 
  * @author Nefara Team
  * @version 1.0
  * @since 2026-01-27
  */
 @Configuration
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "cloudinary", matchIfMissing = true)
 public class CloudinaryConfig {
 
     @Value("${cloudinary.cloud_name}")
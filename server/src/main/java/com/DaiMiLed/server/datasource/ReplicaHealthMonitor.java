@@ -0,0 +1,69 @@
+package com.DaiMiLed.server.datasource;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically probes the replica and measures its replay lag. The replica
+ * is taken out of rotation when it is unreachable or lags behind by more
+ * than the configured limit, and put back once it recovers.
+ */
+@Slf4j
+public class ReplicaHealthMonitor {
+
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000, 0)
+            END
+            """;
+
+    private final JdbcTemplate replica;
+
+    private final long maxLagMs;
+
+    private volatile boolean healthy;
+
+    private volatile long lagMs;
+
+    public ReplicaHealthMonitor(DataSource replicaDataSource, long maxLagMs) {
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.replica.setQueryTimeout(2);
+        this.maxLagMs = maxLagMs;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.health-check-interval-ms}")
+    public void check() {
+        boolean nowHealthy;
+        try {
+            Number lag = replica.queryForObject(LAG_QUERY, Number.class);
+            lagMs = lag != null ? lag.longValue() : 0;
+            nowHealthy = lagMs <= maxLagMs;
+        } catch (RuntimeException ex) {
+            log.debug("Replica health check failed", ex);
+            nowHealthy = false;
+        }
+
+        if (nowHealthy != healthy) {
+            if (nowHealthy) {
+                log.info("Replica back in rotation, lag {} ms", lagMs);
+            } else {
+                log.warn("Replica taken out of rotation, lag {} ms (limit {} ms)", lagMs, maxLagMs);
+            }
+        }
+        healthy = nowHealthy;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public long getLagMs() {
+        return lagMs;
+    }
+}
@@ -0,0 +1,38 @@
+package com.DaiMiLed.server.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the
+ * primary. Reads fall back to the primary while the replica is unhealthy or
+ * lagging, and for users whose own writes may not have replicated yet.
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so the lookup happens after the transaction's read-only flag is set.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicaHealthMonitor healthMonitor;
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReplicaRoutingDataSource(ReplicaHealthMonitor healthMonitor, ReadYourWritesTracker readYourWritesTracker) {
+        this.healthMonitor = healthMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && healthMonitor.isHealthy()
+                && !readYourWritesTracker.currentUserWroteRecently()) {
+            return Target.REPLICA;
+        }
+        return Target.PRIMARY;
+    }
+}
@@ -0,0 +1,13 @@
+package com.DaiMiLed.server.dtos.Materials;
+
+import java.util.List;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import lombok.Data;
+
+@Data
+public class BatchMaterialRequest {
+    private String subject;
+    private List<MultipartFile> files;
+}
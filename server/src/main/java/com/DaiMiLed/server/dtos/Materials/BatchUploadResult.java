@@ -0,0 +1,20 @@
+package com.DaiMiLed.server.dtos.Materials;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome for one file of a batch upload: the new material's ID, or the
+ * reason the file was not stored.
+ */
+@Getter
+@AllArgsConstructor
+public class BatchUploadResult {
+    private String filename;
+    private Long materialId;
+    private String error;
+
+    public boolean isCreated() {
+        return materialId != null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.DaiMiLed.server.dtos.Materials;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is null on the
+ * last page; {@code totalElements} is only filled in when requested and may
+ * be slightly stale.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;
+    private int size;
+    private Long totalElements;
+}
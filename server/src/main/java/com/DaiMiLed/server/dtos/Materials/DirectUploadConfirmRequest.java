@@ -0,0 +1,23 @@
+package com.DaiMiLed.server.dtos.Materials;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+
+/**
+ * Fields of the storage provider's upload response that the client hands
+ * back to confirm a direct upload.
+ */
+@Getter
+public class DirectUploadConfirmRequest {
+    @NotBlank
+    private String publicId;
+
+    @NotNull
+    private Long version;
+
+    @NotBlank
+    private String signature;
+
+    private String resourceType;
+}
@@ -0,0 +1,19 @@
+package com.DaiMiLed.server.dtos.Materials;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+
+@Getter
+public class DirectUploadRequest {
+    @NotBlank
+    private String subject;
+
+    @NotBlank
+    private String filename;
+
+    @NotNull
+    @Positive
+    private Long size;
+}
@@ -0,0 +1,19 @@
+package com.DaiMiLed.server.dtos.Materials;
+
+import java.time.Instant;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Signed parameters for uploading one file straight to storage. The client
+ * posts {@code fields} together with the file to {@code uploadUrl}.
+ */
+@Getter
+@AllArgsConstructor
+public class DirectUploadTicket {
+    private String uploadUrl;
+    private Map<String, Object> fields;
+    private Instant expiresAt;
+}
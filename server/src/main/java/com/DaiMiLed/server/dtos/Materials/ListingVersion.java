@@ -0,0 +1,26 @@
+package com.DaiMiLed.server.dtos.Materials;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Version of a material listing (one subject or one user's uploads). It
+ * changes whenever a material in the listing is added or updated.
+ */
+@Getter
+@AllArgsConstructor
+public class ListingVersion {
+    private final String version;
+    private final Instant lastModified;
+
+    /**
+     * @param variant request parameters that change the representation,
+     *                such as the page or cursor
+     * @return strong entity tag for this version of the given representation
+     */
+    public String eTag(Object variant) {
+        return "\"" + version + "-" + Integer.toHexString(String.valueOf(variant).hashCode()) + "\"";
+    }
+}
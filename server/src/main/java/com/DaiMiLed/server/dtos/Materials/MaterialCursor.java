@@ -0,0 +1,45 @@
+package com.DaiMiLed.server.dtos.Materials;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.DaiMiLed.server.exceptions.InvalidCursorException;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Position in a (createdAt DESC, id DESC) ordered listing, exchanged with
+ * clients as an opaque URL-safe string.
+ */
+@Getter
+@AllArgsConstructor
+public class MaterialCursor {
+    private static final char SEPARATOR = '|';
+
+    private final Instant createdAt;
+    private final Long id;
+
+    public static MaterialCursor after(MaterialResponse material) {
+        return new MaterialCursor(material.getCreatedAt(), material.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MaterialCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new MaterialCursor(
+                    Instant.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
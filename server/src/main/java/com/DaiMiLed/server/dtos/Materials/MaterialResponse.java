@@ -16,12 +16,14 @@ public class MaterialResponse {
     private String username;
     private String subject;
     private String url;
+    private String thumbnailUrl;
     private Instant createdAt;
 
     public MaterialResponse(Material material) {
         this.id = material.getId();
-        this.subject = material.getSubject();
+        this.subject = material.getSubject().getName();
         this.url = material.getUrl();
+        this.thumbnailUrl = material.getThumbnailUrl();
         this.createdAt = material.getCreatedAt();
         this.username = material.getUser().getUsername();
     }
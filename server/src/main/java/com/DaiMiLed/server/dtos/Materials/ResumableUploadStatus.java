@@ -0,0 +1,17 @@
+package com.DaiMiLed.server.dtos.Materials;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ResumableUploadStatus {
+    private UUID id;
+    private long offset;
+    private long length;
+    private Instant expiresAt;
+    private Long materialId;
+}
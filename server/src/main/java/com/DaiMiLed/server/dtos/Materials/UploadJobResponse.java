@@ -0,0 +1,32 @@
+package com.DaiMiLed.server.dtos.Materials;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.DaiMiLed.server.uploads.UploadJob;
+import com.DaiMiLed.server.uploads.UploadJobStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadJobResponse {
+    private UUID jobId;
+    private UploadJobStatus status;
+    private Long materialId;
+    private String error;
+    private Instant createdAt;
+    private Instant finishedAt;
+
+    public UploadJobResponse(UploadJob job) {
+        this.jobId = job.getId();
+        this.status = job.getStatus();
+        this.materialId = job.getMaterialId();
+        this.error = job.getError();
+        this.createdAt = job.getCreatedAt();
+        this.finishedAt = job.getFinishedAt();
+    }
+}
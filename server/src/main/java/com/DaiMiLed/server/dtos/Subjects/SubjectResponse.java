@@ -0,0 +1,12 @@
+package com.DaiMiLed.server.dtos.Subjects;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SubjectResponse {
+    private Integer id;
+    private String name;
+    private long materialCount;
+}
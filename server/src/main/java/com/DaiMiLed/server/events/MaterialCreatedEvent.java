@@ -0,0 +1,17 @@
+package com.DaiMiLed.server.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published once a material row has been written. Listeners that need the
+ * row to be visible to other connections should use
+ * {@code @TransactionalEventListener}.
+ */
+@Getter
+@AllArgsConstructor
+public class MaterialCreatedEvent {
+    private final Long materialId;
+    private final Integer subjectId;
+    private final Long userId;
+}
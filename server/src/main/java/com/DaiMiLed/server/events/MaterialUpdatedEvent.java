@@ -0,0 +1,16 @@
+package com.DaiMiLed.server.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when an existing material changes in a way that is visible in
+ * listings, e.g. once processing has added its thumbnail.
+ */
+@Getter
+@AllArgsConstructor
+public class MaterialUpdatedEvent {
+    private final Long materialId;
+    private final Integer subjectId;
+    private final Long userId;
+}
@@ -0,0 +1,10 @@
+package com.DaiMiLed.server.exceptions;
+
+/**
+ * Exception thrown when a bulkhead has no free slot within its wait time.
+ */
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(String name) {
+        super("Too many concurrent " + name + " calls, try again later");
+    }
+}
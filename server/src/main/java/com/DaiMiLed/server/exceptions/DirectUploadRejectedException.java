@@ -0,0 +1,12 @@
+package com.DaiMiLed.server.exceptions;
+
+/**
+ * Exception thrown when a direct-to-storage upload cannot be confirmed:
+ * the signature does not verify, the ticket expired or belongs to another
+ * user, or the stored file breaks the upload limits.
+ */
+public class DirectUploadRejectedException extends RuntimeException {
+    public DirectUploadRejectedException(String message) {
+        super(message);
+    }
+}
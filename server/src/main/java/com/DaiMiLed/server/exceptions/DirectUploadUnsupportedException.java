@@ -0,0 +1,11 @@
+package com.DaiMiLed.server.exceptions;
+
+/**
+ * Exception thrown when direct uploads are requested but the configured
+ * material storage cannot accept them.
+ */
+public class DirectUploadUnsupportedException extends RuntimeException {
+    public DirectUploadUnsupportedException() {
+        super("Direct uploads are not supported by the configured storage");
+    }
+}
@@ -0,0 +1,10 @@
+package com.DaiMiLed.server.exceptions;
+
+/**
+ * Exception thrown when the node already holds its maximum number of live feed connections.
+ */
+public class FeedCapacityExceededException extends RuntimeException {
+    public FeedCapacityExceededException() {
+        super("Too many live feed connections, try again later");
+    }
+}
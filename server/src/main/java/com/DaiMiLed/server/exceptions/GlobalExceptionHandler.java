@@ -66,8 +66,19 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
     }
 
+    /**
+     * A bulkhead rejection raised while opening a database connection
+     * reaches this handler wrapped in a transaction or data access
+     * exception, so the cause chain is checked before answering with 500.
+     */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse> handleGenericException(Exception ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof BulkheadFullException bulkheadFull) {
+                return handleBulkheadFull(bulkheadFull);
+            }
+        }
+
         log.error("Unexpected error occurred", ex);
 
         ApiResponse response = new ApiResponse(
@@ -104,5 +115,160 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
-}
 
+    @ExceptionHandler(UploadCapacityExceededException.class)
+    public ResponseEntity<ApiResponse> handleUploadCapacityExceeded(UploadCapacityExceededException ex) {
+        log.warn("Upload rejected: {}", ex.getMessage());
+
+        ApiResponse response = new ApiResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
+    @ExceptionHandler(UploadQueueFullException.class)
+    public ResponseEntity<ApiResponse> handleUploadQueueFull(UploadQueueFullException ex) {
+        log.warn("Upload rejected: {}", ex.getMessage());
+
+        ApiResponse response = new ApiResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                ex.getMessage(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(response);
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ApiResponse> handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        log.warn("Auth request rejected: {}", ex.getMessage());
+
+        ApiResponse response = new ApiResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                ex.getMessage(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(response);
+    }
+
+    @ExceptionHandler(DirectUploadRejectedException.class)
+    public ResponseEntity<ApiResponse> handleDirectUploadRejected(DirectUploadRejectedException ex) {
+        log.warn("Direct upload rejected: {}", ex.getMessage());
+
+        ApiResponse response = new ApiResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    @ExceptionHandler(DirectUploadUnsupportedException.class)
+    public ResponseEntity<ApiResponse> handleDirectUploadUnsupported(DirectUploadUnsupportedException ex) {
+        log.warn("Direct upload requested: {}", ex.getMessage());
+
+        ApiResponse response = new ApiResponse(
+                HttpStatus.NOT_IMPLEMENTED.value(),
+                ex.getMessage(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(response);
+    }
+
+    @ExceptionHandler(UploadConflictException.class)
+    public ResponseEntity<ApiResponse> handleUploadConflict(UploadConflictException ex) {
+        log.warn("Upload chunk rejected: {}", ex.getMessage());
+
+        ApiResponse response = new ApiResponse(
+                HttpStatus.CONFLICT.value(),
+                ex.getMessage(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(UploadTooLargeException.class)
+    public ResponseEntity<ApiResponse> handleUploadTooLarge(UploadTooLargeException ex) {
+        log.warn("Upload rejected: {}", ex.getMessage());
+
+        ApiResponse response = new ApiResponse(
+                HttpStatus.CONTENT_TOO_LARGE.value(),
+                ex.getMessage(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE).body(response);
+    }
+
+    @ExceptionHandler(InvalidUploadRequestException.class)
+    public ResponseEntity<ApiResponse> handleInvalidUploadRequest(InvalidUploadRequestException ex) {
+        log.warn("Invalid upload request: {}", ex.getMessage());
+
+        ApiResponse response = new ApiResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponse> handleInvalidCursor(InvalidCursorException ex) {
+        log.warn("Invalid cursor: {}", ex.getMessage());
+
+        ApiResponse response = new ApiResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    @ExceptionHandler(InvalidSubjectException.class)
+    public ResponseEntity<ApiResponse> handleInvalidSubject(InvalidSubjectException ex) {
+        log.warn("Invalid subject: {}", ex.getMessage());
+
+        ApiResponse response = new ApiResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ApiResponse> handleBulkheadFull(BulkheadFullException ex) {
+        log.warn("Request rejected: {}", ex.getMessage());
+
+        ApiResponse response = new ApiResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
+    @ExceptionHandler(FeedCapacityExceededException.class)
+    public ResponseEntity<ApiResponse> handleFeedCapacityExceeded(FeedCapacityExceededException ex) {
+        log.warn("Feed connection rejected: {}", ex.getMessage());
+
+        ApiResponse response = new ApiResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                null
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+}
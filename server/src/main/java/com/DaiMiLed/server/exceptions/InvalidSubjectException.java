@@ -0,0 +1,10 @@
+package com.DaiMiLed.server.exceptions;
+
+/**
+ * Exception thrown when a material is uploaded without a usable subject name.
+ */
+public class InvalidSubjectException extends RuntimeException {
+    public InvalidSubjectException() {
+        super("Subject must not be blank");
+    }
+}
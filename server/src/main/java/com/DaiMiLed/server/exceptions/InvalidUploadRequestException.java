@@ -0,0 +1,11 @@
+package com.DaiMiLed.server.exceptions;
+
+/**
+ * Exception thrown when a resumable upload request carries malformed
+ * protocol headers or more bytes than the upload declared.
+ */
+public class InvalidUploadRequestException extends RuntimeException {
+    public InvalidUploadRequestException(String message) {
+        super(message);
+    }
+}
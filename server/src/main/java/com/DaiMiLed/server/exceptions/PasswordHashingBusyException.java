@@ -0,0 +1,10 @@
+package com.DaiMiLed.server.exceptions;
+
+/**
+ * Exception thrown when the password hashing pool cannot accept more work.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException() {
+        super("Too many sign-in requests in progress, try again later");
+    }
+}
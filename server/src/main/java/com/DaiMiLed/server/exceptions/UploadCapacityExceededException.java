@@ -0,0 +1,10 @@
+package com.DaiMiLed.server.exceptions;
+
+/**
+ * Exception thrown when the node has no room left for another in-flight upload.
+ */
+public class UploadCapacityExceededException extends RuntimeException {
+    public UploadCapacityExceededException() {
+        super("Too many uploads in progress, try again later");
+    }
+}
@@ -0,0 +1,11 @@
+package com.DaiMiLed.server.exceptions;
+
+/**
+ * Exception thrown when a resumable upload chunk does not start at the
+ * session's current offset, or another request is writing the same upload.
+ */
+public class UploadConflictException extends RuntimeException {
+    public UploadConflictException(String message) {
+        super(message);
+    }
+}
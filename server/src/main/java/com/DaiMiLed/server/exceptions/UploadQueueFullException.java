@@ -0,0 +1,10 @@
+package com.DaiMiLed.server.exceptions;
+
+/**
+ * Exception thrown when the asynchronous upload queue cannot accept more jobs.
+ */
+public class UploadQueueFullException extends RuntimeException {
+    public UploadQueueFullException() {
+        super("Upload queue is full, try again later");
+    }
+}
@@ -0,0 +1,12 @@
+package com.DaiMiLed.server.exceptions;
+
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Exception thrown when an upload declares a length above the allowed maximum.
+ */
+public class UploadTooLargeException extends RuntimeException {
+    public UploadTooLargeException(DataSize maxSize) {
+        super("Upload exceeds the " + maxSize.toMegabytes() + "MB limit");
+    }
+}
@@ -0,0 +1,28 @@
+package com.DaiMiLed.server.feed;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.DaiMiLed.server.events.MaterialCreatedEvent;
+import com.DaiMiLed.server.services.Materials.MaterialFeedService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Passes created materials straight to this node's feed. Only for single
+ * node setups, such as local development against H2; other nodes never see
+ * the events.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.feed.relay", havingValue = "local")
+public class LocalMaterialFeedRelay {
+
+    private final MaterialFeedService materialFeedService;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMaterialCreated(MaterialCreatedEvent event) {
+        materialFeedService.publish(event);
+    }
+}
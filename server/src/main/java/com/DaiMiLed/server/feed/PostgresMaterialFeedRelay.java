@@ -0,0 +1,158 @@
+package com.DaiMiLed.server.feed;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.DaiMiLed.server.events.MaterialCreatedEvent;
+import com.DaiMiLed.server.exceptions.BulkheadFullException;
+import com.DaiMiLed.server.services.Materials.MaterialFeedService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Relays created materials to the feed of every node through PostgreSQL
+ * LISTEN/NOTIFY. Each node listens on its own connection to the primary,
+ * outside the pool, and hands notifications to its feed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.feed.relay", havingValue = "postgres", matchIfMissing = true)
+public class PostgresMaterialFeedRelay {
+
+    private static final String CHANNEL = "material_created";
+
+    private static final int POLL_TIMEOUT_MS = 1_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final MaterialFeedService materialFeedService;
+
+    private final String url;
+
+    private final String username;
+
+    private final String password;
+
+    private final long reconnectDelayMs;
+
+    private volatile boolean running;
+
+    private Thread listener;
+
+    public PostgresMaterialFeedRelay(
+            JdbcTemplate jdbcTemplate,
+            MaterialFeedService materialFeedService,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${app.feed.reconnect-delay-ms}") long reconnectDelayMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.materialFeedService = materialFeedService;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.reconnectDelayMs = reconnectDelayMs;
+    }
+
+    /**
+     * Materials are saved without a surrounding transaction and the event is
+     * published once the save has committed, so this runs through
+     * {@code fallbackExecution} and the NOTIFY goes out as a statement of
+     * its own. Listeners can therefore never see a material that is not
+     * there yet. Should the event ever be published inside a transaction,
+     * the NOTIFY joins it just before it commits. The feed is best effort:
+     * a failed NOTIFY is logged and the upload still succeeds.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onMaterialCreated(MaterialCreatedEvent event) {
+        try {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload(event));
+        } catch (DataAccessException | BulkheadFullException e) {
+            log.warn("Could not announce material {} to the feed", event.getMaterialId(), e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "material-feed-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    /**
+     * Notifications sent while the connection is down are lost; clients
+     * reload the listing when their feed reconnects.
+     */
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for feed notifications on {}", CHANNEL);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Feed listener connection failed, reconnecting in {} ms", reconnectDelayMs, e);
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        try {
+            String[] ids = payload.split(":");
+            materialFeedService.publish(new MaterialCreatedEvent(
+                    Long.valueOf(ids[0]), Integer.valueOf(ids[1]), Long.valueOf(ids[2])));
+        } catch (RuntimeException e) {
+            log.warn("Could not publish feed notification {}", payload, e);
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static String payload(MaterialCreatedEvent event) {
+        return event.getMaterialId() + ":" + event.getSubjectId() + ":" + event.getUserId();
+    }
+}
@@ -3,6 +3,7 @@ package com.DaiMiLed.server.initialization;
 import com.DaiMiLed.server.models.Role;
 import com.DaiMiLed.server.models.RoleName;
 import com.DaiMiLed.server.repositories.RoleRepository;
+import com.DaiMiLed.server.services.RoleCatalog;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -15,6 +16,8 @@ public class DataInitializer implements CommandLineRunner {
 
     private final RoleRepository roleRepository;
 
+    private final RoleCatalog roleCatalog;
+
     private static final RoleName[] REQUIRED_ROLES = {
             RoleName.ROLE_STUDENT,
             RoleName.ROLE_TEACHER
@@ -29,15 +32,16 @@ public class DataInitializer implements CommandLineRunner {
 
     private void initializeRoles() {
         for (RoleName roleName : REQUIRED_ROLES) {
-            boolean roleExists = roleRepository.findByName(roleName).isPresent();
+            Role role = roleRepository.findByName(roleName).orElse(null);
 
-            if (roleExists) {
+            if (role != null) {
                 log.debug("Role {} already exists", roleName);
             } else {
-                Role role = new Role(roleName);
-                roleRepository.save(role);
+                role = roleRepository.save(new Role(roleName));
                 log.info("Created role: {}", roleName);
             }
+
+            roleCatalog.register(role);
         }
     }
 }
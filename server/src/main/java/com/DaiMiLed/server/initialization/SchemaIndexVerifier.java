@@ -0,0 +1,69 @@
+package com.DaiMiLed.server.initialization;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fails startup when an index the hot queries rely on is missing or was left
+ * invalid by an interrupted concurrent build, instead of silently serving
+ * sequential scans. Runs once the migrations are done and before the web
+ * server accepts requests.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@DependsOnDatabaseInitialization
+@ConditionalOnProperty(name = "app.schema.verify-indexes", havingValue = "true", matchIfMissing = true)
+public class SchemaIndexVerifier implements InitializingBean {
+
+    static final Map<String, List<String>> EXPECTED_INDEXES = Map.of(
+            "materials", List.of(
+                    "idx_materials_subject_id_created_id",
+                    "idx_materials_user_created_id",
+                    "idx_materials_content_hash",
+                    "idx_materials_search_vector",
+                    "idx_materials_storage_key",
+                    "uk_materials_direct_storage_key")
+    );
+
+    private static final String VALID_INDEXES_QUERY = """
+            SELECT i.relname
+            FROM pg_index x
+            JOIN pg_class i ON i.oid = x.indexrelid
+            JOIN pg_class t ON t.oid = x.indrelid
+            JOIN pg_namespace n ON n.oid = t.relnamespace
+            WHERE n.nspname = current_schema() AND t.relname = ? AND x.indisvalid
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+        Set<String> missing = new HashSet<>();
+
+        EXPECTED_INDEXES.forEach((table, indexes) -> {
+            Set<String> present = new HashSet<>(jdbcTemplate.queryForList(VALID_INDEXES_QUERY, String.class, table));
+            indexes.stream()
+                    .filter(index -> !present.contains(index))
+                    .forEach(missing::add);
+        });
+
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing or invalid database indexes: " + missing
+                    + ". Run the Flyway migrations before starting the server.");
+        }
+
+        log.info("Verified {} expected database indexes", EXPECTED_INDEXES.values().stream().mapToInt(List::size).sum());
+    }
+}
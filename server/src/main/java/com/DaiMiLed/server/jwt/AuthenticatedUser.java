@@ -0,0 +1,23 @@
+package com.DaiMiLed.server.jwt;
+
+import com.DaiMiLed.server.models.RoleName;
+import com.DaiMiLed.server.models.User;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Lightweight principal stored in the security context for authenticated
+ * requests. Built from token claims, so the hot path needs no user query.
+ */
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUser {
+    private final Long id;
+    private final String username;
+    private final RoleName role;
+
+    public AuthenticatedUser(User user) {
+        this(user.getId(), user.getUsername(), user.getRole().getName());
+    }
+}
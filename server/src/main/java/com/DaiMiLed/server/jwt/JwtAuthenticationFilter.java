@@ -1,29 +1,38 @@
 package com.DaiMiLed.server.jwt;
 
-import com.DaiMiLed.server.models.User;
-import com.DaiMiLed.server.repositories.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.List;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String FEED_TOKEN_PARAM = "access_token";
+    private static final String FEED_PATH_SUFFIX = "/events";
+
     private final JwtProvider jwtProvider;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final MeterRegistry meterRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -31,18 +40,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         String header = request.getHeader("Authorization");
 
-        String token = jwtProvider.extractTokenFromHeader(header);
-        if (jwtProvider.validateToken(token)) {
-            String username = jwtProvider.getUsernameFromToken(token);
+        Claims claims = resolveClaims(request, jwtProvider.extractTokenFromHeader(header));
+        if (claims != null) {
+            String username = claims.getSubject();
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                User user = userRepository.findByUsername(username)
-                        .orElseGet(() -> userRepository.findByEmail(username).orElse(null));
+                AuthenticatedUser principal = resolvePrincipal(claims, username);
 
-                if (user != null) {
+                if (principal != null) {
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                            user,
+                            principal,
                             null,
-                            Collections.emptyList()
+                            List.of(new SimpleGrantedAuthority(principal.getRole().name()))
                     );
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -52,4 +60,55 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Feed tokens only open the live feed. There they may also come from the
+     * {@code access_token} query parameter, for clients that cannot set
+     * headers; full tokens are never taken from the URL.
+     */
+    private Claims resolveClaims(HttpServletRequest request, String headerToken) {
+        boolean feedRequest = isFeedRequest(request);
+        if (headerToken != null) {
+            return jwtProvider.parseClaims(headerToken)
+                    .filter(claims -> feedRequest || !jwtProvider.isFeedToken(claims))
+                    .orElse(null);
+        }
+        if (feedRequest) {
+            return jwtProvider.parseClaims(request.getParameter(FEED_TOKEN_PARAM))
+                    .filter(jwtProvider::isFeedToken)
+                    .orElse(null);
+        }
+        return null;
+    }
+
+    private static boolean isFeedRequest(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return HttpMethod.GET.matches(request.getMethod())
+                && request.getRequestURI().endsWith(FEED_PATH_SUFFIX)
+                && accept != null
+                && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    /**
+     * Takes the principal from the token claims, falling back to the
+     * principal cache (and the database on a miss) for older tokens. The
+     * lookup is timed by where the principal came from.
+     */
+    private AuthenticatedUser resolvePrincipal(Claims claims, String username) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String source = "claims";
+
+        AuthenticatedUser principal = jwtProvider.toPrincipal(claims).orElse(null);
+        if (principal == null) {
+            source = "principal-cache";
+            principal = principalCache.resolve(username).orElse(null);
+        }
+
+        sample.stop(Timer.builder("auth.principal.lookup")
+                .description("Time to resolve the authenticated user for a request")
+                .tag("source", source)
+                .tag("outcome", principal != null ? "found" : "not-found")
+                .register(meterRegistry));
+        return principal;
+    }
 }
@@ -1,9 +1,19 @@
 package com.DaiMiLed.server.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.DaiMiLed.server.models.RoleName;
+import com.DaiMiLed.server.models.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,67 +21,216 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtProvider {
 
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+    private static final String SCOPE_CLAIM = "scope";
+    private static final String FEED_SCOPE = "feed";
+    private static final String PARSE_TIMER = "jwt.parse";
+
+    private final MeterRegistry meterRegistry;
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${expiration.ms}")
     private long expirationMs;
 
-    public String generateToken(String username, String email) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    @Value("${jwt.feed-token.expiration-ms}")
+    private long feedTokenExpirationMs;
+
+    @Value("${jwt.cache.max-size}")
+    private long cacheMaxSize;
+
+    private SecretKey key;
 
+    private JwtParser parser;
+
+    /**
+     * Verified claims keyed by a SHA-256 digest of the token. Each entry
+     * expires together with the token it was parsed from.
+     */
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
+    }
+
+    public String generateToken(User user) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expirationMs);
 
         return Jwts.builder()
-                .subject(username)
-                .claim("email", email)
+                .subject(user.getUsername())
+                .claim("email", user.getEmail())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole().getName().name())
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(key)
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Issues a short-lived token that only opens the live feed. The browser
+     * {@code EventSource} cannot send an Authorization header, so it passes
+     * this token in the URL instead, where it may end up in access logs.
+     *
+     * @param user the authenticated user
+     * @return compact JWT valid for {@code jwt.feed-token.expiration-ms}
+     */
+    public String generateFeedToken(AuthenticatedUser user) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + feedTokenExpirationMs);
+
+        return Jwts.builder()
+                .subject(user.getUsername())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole().name())
+                .claim(SCOPE_CLAIM, FEED_SCOPE)
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(key)
+                .compact();
+    }
+
+    /**
+     * @param claims verified claims
+     * @return whether the token was issued by {@link #generateFeedToken}
+     */
+    public boolean isFeedToken(Claims claims) {
+        return FEED_SCOPE.equals(claims.get(SCOPE_CLAIM, String.class));
+    }
+
+    /**
+     * Verifies the token and returns its claims in a single pass. Results
+     * are cached until the token expires, so repeated calls for the same
+     * token within a request (or across requests) skip signature checks.
+     *
+     * @param token compact JWT, may be null
+     * @return the verified claims, or empty if the token is missing or invalid
+     */
+    public Optional<Claims> parseClaims(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            sample.stop(parseTimer("hit", "valid"));
+            return Optional.of(cached);
+        }
+
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(digest, claims);
+            }
+            sample.stop(parseTimer("miss", "valid"));
+            return Optional.of(claims);
         } catch (JwtException | IllegalArgumentException ex) {
+            sample.stop(parseTimer("miss", "invalid"));
             log.warn("Invalid JWT token: {}", ex.getMessage());
-            return false;
+            return Optional.empty();
         }
     }
 
-    public String getUsernameFromToken(String token) {
+    /**
+     * Builds the principal straight from the token claims.
+     *
+     * @param claims verified claims
+     * @return the principal, or empty for tokens issued without id and role claims
+     */
+    public Optional<AuthenticatedUser> toPrincipal(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+
+        if (userId == null || role == null || claims.getSubject() == null) {
+            return Optional.empty();
+        }
+
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            Claims claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            return claims.getSubject();
-        } catch (JwtException | IllegalArgumentException ex) {
-            log.warn("Failed to extract username from JWT: {}", ex.getMessage());
-            return null;
+            return Optional.of(new AuthenticatedUser(userId, claims.getSubject(), RoleName.valueOf(role)));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Unknown role claim in JWT: {}", role);
+            return Optional.empty();
         }
     }
 
+    public boolean validateToken(String token) {
+        return parseClaims(token).isPresent();
+    }
+
+    public String getUsernameFromToken(String token) {
+        return parseClaims(token)
+                .map(Claims::getSubject)
+                .orElse(null);
+    }
+
     public String extractTokenFromHeader(String authorizationHeader) {
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             return authorizationHeader.substring(7);
         }
         return null;
     }
+
+    private Timer parseTimer(String cache, String outcome) {
+        return Timer.builder(PARSE_TIMER)
+                .description("Time to verify a JWT and read its claims")
+                .tag("cache", cache)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
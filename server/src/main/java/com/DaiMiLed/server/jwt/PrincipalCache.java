@@ -0,0 +1,66 @@
+package com.DaiMiLed.server.jwt;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.DaiMiLed.server.repositories.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Size and TTL bounded cache of principals for tokens that do not carry the
+ * user id and role claims (tokens issued before those claims existed).
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+
+    private final Cache<String, AuthenticatedUser> principals;
+
+    public PrincipalCache(
+            UserRepository userRepository,
+            @Value("${jwt.principal-cache.max-size}") long maxSize,
+            @Value("${jwt.principal-cache.ttl}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "jwt.principals");
+    }
+
+    /**
+     * Returns the principal for a username or email, loading it from the
+     * database on a miss. Unknown users are not cached.
+     */
+    public Optional<AuthenticatedUser> resolve(String login) {
+        return Optional.ofNullable(principals.get(login, this::load));
+    }
+
+    public void evict(String login) {
+        principals.invalidate(login);
+    }
+
+    public void evictAll() {
+        principals.invalidateAll();
+    }
+
+    private AuthenticatedUser load(String login) {
+        log.debug("Principal cache miss for {}", login);
+        return userRepository.findByLogin(login)
+                .map(AuthenticatedUser::new)
+                .orElse(null);
+    }
+}
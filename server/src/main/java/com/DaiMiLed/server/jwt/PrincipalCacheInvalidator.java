@@ -0,0 +1,32 @@
+package com.DaiMiLed.server.jwt;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.DaiMiLed.server.models.User;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that drops cached principals whenever a user row is
+ * changed or deleted.
+ */
+@Component
+public class PrincipalCacheInvalidator {
+
+    private final ObjectProvider<PrincipalCache> principalCache;
+
+    public PrincipalCacheInvalidator(ObjectProvider<PrincipalCache> principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        principalCache.ifAvailable(cache -> {
+            cache.evict(user.getUsername());
+            cache.evict(user.getEmail());
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package com.DaiMiLed.server.metrics;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records how long password hashing and verification take. These are
+ * deliberately slow, so under load they are often the largest share of
+ * register and login latency.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Timer encodeTimer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.encodeTimer = Timer.builder("auth.password.encode")
+                .description("Time to hash a password")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        sample.stop(Timer.builder("auth.password.match")
+                .description("Time to verify a password against its hash")
+                .tag("outcome", matches ? "match" : "mismatch")
+                .register(meterRegistry));
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
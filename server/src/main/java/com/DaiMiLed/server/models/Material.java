@@ -4,32 +4,71 @@ import java.time.Instant;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "materials")
+@Table(
+    name = "materials",
+    indexes = {
+        @Index(name = "idx_materials_subject_id_created_id", columnList = "subject_id, created_at, id"),
+        @Index(name = "idx_materials_user_created_id", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_materials_content_hash", columnList = "content_hash"),
+        @Index(name = "idx_materials_storage_key", columnList = "storage_key")
+    }
+)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Material {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "materials_seq")
+    @SequenceGenerator(name = "materials_seq", sequenceName = "materials_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false)
-    private String subject;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "subject_id", nullable = false)
+    private Subject subject;
+
+    @Column(name = "storage_key")
+    private String storageKey;
 
     @Column(nullable = false)
     private String url;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "original_filename")
+    private String originalFilename;
+
+    @Column(name = "extracted_text", columnDefinition = "text")
+    private String extractedText;
+
+    @Column(name = "thumbnail_url")
+    private String thumbnailUrl;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "processing_status", nullable = false, length = 16)
+    private MaterialProcessingStatus processingStatus = MaterialProcessingStatus.PENDING;
+
+    @Column(name = "processing_attempts", nullable = false)
+    private int processingAttempts;
+
+    @Column(name = "processing_started_at")
+    private Instant processingStartedAt;
+
     @Column(nullable = false)
     private Instant createdAt = Instant.now();
 
@@ -38,12 +77,18 @@ public class Material {
     private User user;
 
     public Material(
-        String subject,
+        Subject subject,
+        String storageKey,
         String url,
+        String contentHash,
+        String originalFilename,
         User user
     ) {
         this.subject = subject;
+        this.storageKey = storageKey;
         this.url = url;
+        this.contentHash = contentHash;
+        this.originalFilename = originalFilename;
         this.user = user;
     }
 
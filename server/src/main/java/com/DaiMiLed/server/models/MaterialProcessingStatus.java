@@ -0,0 +1,9 @@
+package com.DaiMiLed.server.models;
+
+public enum MaterialProcessingStatus {
+    PENDING,
+    PROCESSING,
+    DONE,
+    SKIPPED,
+    FAILED
+}
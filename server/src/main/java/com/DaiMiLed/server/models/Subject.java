@@ -0,0 +1,63 @@
+package com.DaiMiLed.server.models;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "subjects")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class Subject {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "normalized_name", nullable = false, unique = true)
+    private String normalizedName;
+
+    public Subject(String name) {
+        this.name = clean(name);
+        this.normalizedName = normalize(name);
+    }
+
+    /**
+     * Trims and collapses whitespace, keeping the casing the subject was first
+     * created with.
+     */
+    public static String clean(String name) {
+        return name.strip().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Key used to match subject names regardless of case and spacing.
+     */
+    public static String normalize(String name) {
+        return clean(name).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The normalized words of a subject name or search query.
+     */
+    public static Stream<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return Stream.empty();
+        }
+        return Arrays.stream(normalize(text).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty());
+    }
+}
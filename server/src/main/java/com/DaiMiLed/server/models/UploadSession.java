@@ -0,0 +1,69 @@
+package com.DaiMiLed.server.models;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of one resumable upload. The offset moves forward through
+ * {@code UploadSessionRepository.advanceOffset}, and back through
+ * {@code rewindOffset} only when the upload file holds fewer bytes.
+ */
+@Entity
+@Table(
+    name = "upload_sessions",
+    indexes = @Index(name = "idx_upload_sessions_updated_at", columnList = "updated_at")
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class UploadSession {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(name = "original_filename")
+    private String originalFilename;
+
+    @Column(name = "upload_length", nullable = false)
+    private long uploadLength;
+
+    @Column(name = "upload_offset", nullable = false)
+    private long uploadOffset;
+
+    @Column(name = "material_id")
+    private Long materialId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public UploadSession(Long userId, String subject, String originalFilename, long uploadLength) {
+        this.id = UUID.randomUUID();
+        this.userId = userId;
+        this.subject = subject;
+        this.originalFilename = originalFilename;
+        this.uploadLength = uploadLength;
+        this.createdAt = Instant.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    public boolean isComplete() {
+        return uploadOffset == uploadLength;
+    }
+}
@@ -0,0 +1,19 @@
+package com.DaiMiLed.server.processing;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Result of processing one material. Either part may be null when the file
+ * type does not support it.
+ */
+@Getter
+@AllArgsConstructor
+public class ExtractedContent {
+    private final String text;
+    private final byte[] thumbnailPng;
+
+    public boolean isEmpty() {
+        return text == null && thumbnailPng == null;
+    }
+}
@@ -0,0 +1,205 @@
+package com.DaiMiLed.server.processing;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Extracts searchable text and a first-page thumbnail from a stored
+ * material. PDFs, plain text and common image formats are supported.
+ */
+@Component
+public class MaterialContentExtractor {
+
+    private static final Set<String> TEXT_EXTENSIONS = Set.of("txt", "md", "csv");
+
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of("png", "jpg", "jpeg", "gif", "bmp");
+
+    @Value("${app.processing.thumbnail-width}")
+    private int thumbnailWidth;
+
+    @Value("${app.processing.max-text-length}")
+    private int maxTextLength;
+
+    @Value("${app.processing.text-fallback-charset}")
+    private Charset fallbackCharset;
+
+    /**
+     * @param originalFilename name the file was uploaded with
+     * @return whether anything can be extracted from a file of this type
+     */
+    public boolean supports(String originalFilename) {
+        String extension = extensionOf(originalFilename);
+        return extension.equals("pdf") || TEXT_EXTENSIONS.contains(extension) || IMAGE_EXTENSIONS.contains(extension);
+    }
+
+    /**
+     * @param originalFilename name the file was uploaded with, used to detect its type
+     * @param file local copy of the material
+     * @return extracted content, empty when the type is not supported
+     */
+    public ExtractedContent extract(String originalFilename, Path file) throws IOException {
+        String extension = extensionOf(originalFilename);
+
+        if (extension.equals("pdf")) {
+            return extractPdf(file);
+        }
+        if (TEXT_EXTENSIONS.contains(extension)) {
+            return new ExtractedContent(readText(file), null);
+        }
+        if (IMAGE_EXTENSIONS.contains(extension)) {
+            BufferedImage image = readImage(file);
+            return new ExtractedContent(null, image != null ? toThumbnail(image) : null);
+        }
+
+        return new ExtractedContent(null, null);
+    }
+
+    /**
+     * Pages beyond what fits in the text limit are never parsed, and
+     * PDFBox buffers into temp files rather than the heap.
+     */
+    private ExtractedContent extractPdf(Path file) throws IOException {
+        try (PDDocument document = Loader.loadPDF(file.toFile(), null, null, null, IOUtils.createTempFileOnlyStreamCache())) {
+            if (document.getNumberOfPages() == 0) {
+                return new ExtractedContent(null, null);
+            }
+
+            PDFTextStripper stripper = new PDFTextStripper();
+            StringBuilder text = new StringBuilder();
+            for (int page = 1; page <= document.getNumberOfPages() && text.length() < maxTextLength; page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                text.append(stripper.getText(document));
+            }
+
+            PDRectangle box = document.getPage(0).getCropBox();
+            float scale = box.getWidth() > 0 ? thumbnailWidth / box.getWidth() : 1f;
+            BufferedImage firstPage = new PDFRenderer(document).renderImage(0, scale, ImageType.RGB);
+
+            return new ExtractedContent(clean(text), toPng(firstPage));
+        }
+    }
+
+    private static String extensionOf(String originalFilename) {
+        String extension = StringUtils.getFilenameExtension(originalFilename);
+        return extension != null ? extension.toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * Reads the file as UTF-8, and with {@code fallbackCharset} when it is
+     * not valid UTF-8 (e.g. a windows-1251 export); bytes the fallback
+     * cannot map either are replaced rather than failing the extraction.
+     */
+    private String readText(Path file) throws IOException {
+        try {
+            return readText(file, StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT));
+        } catch (CharacterCodingException e) {
+            return readText(file, fallbackCharset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE));
+        }
+    }
+
+    private String readText(Path file, CharsetDecoder decoder) throws IOException {
+        StringBuilder text = new StringBuilder();
+        char[] buffer = new char[8192];
+
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), decoder)) {
+            int read;
+            while (text.length() < maxTextLength && (read = reader.read(buffer)) != -1) {
+                text.append(buffer, 0, read);
+            }
+        }
+
+        return clean(text);
+    }
+
+    /**
+     * Decodes only every n-th pixel of images wider than the thumbnail, so a
+     * large photo never lands on the heap at full resolution.
+     */
+    private BufferedImage readImage(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : Collections.emptyIterator();
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int subsampling = Math.max(1, reader.getWidth(0) / thumbnailWidth);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private String clean(StringBuilder text) {
+        String cleaned = text.length() > maxTextLength ? text.substring(0, maxTextLength) : text.toString();
+        // PostgreSQL text columns reject NUL characters.
+        cleaned = cleaned.replace("\u0000", "").strip();
+        return cleaned.isEmpty() ? null : cleaned;
+    }
+
+    private byte[] toThumbnail(BufferedImage image) throws IOException {
+        if (image.getWidth() <= thumbnailWidth) {
+            return toPng(image);
+        }
+
+        int height = Math.max(1, image.getHeight() * thumbnailWidth / image.getWidth());
+        BufferedImage scaled = new BufferedImage(thumbnailWidth, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, thumbnailWidth, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        return toPng(scaled);
+    }
+
+    private static byte[] toPng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
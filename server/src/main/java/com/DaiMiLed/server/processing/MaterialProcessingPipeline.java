@@ -0,0 +1,217 @@
+package com.DaiMiLed.server.processing;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.DaiMiLed.server.events.MaterialCreatedEvent;
+import com.DaiMiLed.server.events.MaterialUpdatedEvent;
+import com.DaiMiLed.server.models.Material;
+import com.DaiMiLed.server.models.MaterialProcessingStatus;
+import com.DaiMiLed.server.repositories.MaterialsRepository;
+import com.DaiMiLed.server.storage.MaterialStorage;
+import com.DaiMiLed.server.storage.StoredObject;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Extracts text and renders a thumbnail for each material off the request
+ * thread. Progress is kept on the material row, so the work survives a
+ * restart. Each run first claims the row with a conditional update, which
+ * makes it safe to run on several nodes. The results are written under
+ * deterministic keys, so a retry overwrites rather than duplicates them.
+ */
+@Slf4j
+@Component
+public class MaterialProcessingPipeline {
+
+    private final MaterialsRepository materialsRepository;
+
+    private final MaterialStorage materialStorage;
+
+    private final MaterialContentExtractor extractor;
+
+    private final ThreadPoolExecutor executor;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Path workDir;
+
+    private final int maxAttempts;
+
+    private final Duration claimTimeout;
+
+    private final int sweepBatchSize;
+
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+    public MaterialProcessingPipeline(
+            MaterialsRepository materialsRepository,
+            MaterialStorage materialStorage,
+            MaterialContentExtractor extractor,
+            @Qualifier("materialProcessingExecutor") ThreadPoolExecutor executor,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.processing.work-dir}") Path workDir,
+            @Value("${app.processing.max-attempts}") int maxAttempts,
+            @Value("${app.processing.claim-timeout}") Duration claimTimeout,
+            @Value("${app.processing.sweep-batch-size}") int sweepBatchSize) throws IOException {
+        this.materialsRepository = materialsRepository;
+        this.materialStorage = materialStorage;
+        this.extractor = extractor;
+        this.executor = executor;
+        this.eventPublisher = eventPublisher;
+        this.workDir = Files.createDirectories(workDir);
+        this.maxAttempts = maxAttempts;
+        this.claimTimeout = claimTimeout;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMaterialCreated(MaterialCreatedEvent event) {
+        submit(event.getMaterialId());
+    }
+
+    /**
+     * Picks up materials that were never queued, were rejected by a full
+     * queue, or were abandoned by a node that stopped mid-job. An abandoned
+     * claim on the last attempt is marked FAILED instead.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.processing.sweep-interval-ms}", initialDelayString = "${app.processing.sweep-interval-ms}")
+    public void sweep() {
+        Instant staleBefore = Instant.now().minus(claimTimeout);
+        int failed = materialsRepository.failAbandonedProcessing(maxAttempts, staleBefore);
+        if (failed > 0) {
+            log.warn("Marked {} abandoned materials as failed after {} attempts", failed, maxAttempts);
+        }
+
+        List<Long> ids = materialsRepository.findIdsAwaitingProcessing(maxAttempts, staleBefore, Limit.of(sweepBatchSize));
+
+        for (Long id : ids) {
+            if (!submit(id)) {
+                break;
+            }
+        }
+    }
+
+    private boolean submit(Long materialId) {
+        if (!queued.add(materialId)) {
+            return true;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    process(materialId);
+                } finally {
+                    queued.remove(materialId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            queued.remove(materialId);
+            log.debug("Processing queue full, material {} left for the next sweep", materialId);
+            return false;
+        }
+    }
+
+    private void process(Long materialId) {
+        Instant now = Instant.now();
+        if (materialsRepository.claimForProcessing(materialId, now, now.minus(claimTimeout), maxAttempts) == 0) {
+            return;
+        }
+
+        try {
+            Material material = materialsRepository.findForProcessing(materialId).orElse(null);
+            if (material == null) {
+                return;
+            }
+
+            if (reuseDuplicate(material)) {
+                return;
+            }
+
+            ExtractedContent content = extractor.supports(material.getOriginalFilename())
+                    ? extract(material)
+                    : new ExtractedContent(null, null);
+            if (content.isEmpty()) {
+                materialsRepository.completeProcessing(materialId, MaterialProcessingStatus.SKIPPED, null, null);
+                return;
+            }
+
+            String thumbnailUrl = null;
+            if (content.getThumbnailPng() != null) {
+                byte[] png = content.getThumbnailPng();
+                String key = "thumbnail_" + (material.getContentHash() != null ? material.getContentHash() : materialId);
+                thumbnailUrl = materialStorage.store(key, "thumbnail.png", new ByteArrayInputStream(png), png.length).getUrl();
+            }
+
+            materialsRepository.completeProcessing(materialId, MaterialProcessingStatus.DONE, content.getText(), thumbnailUrl);
+            publishUpdated(material);
+            log.info("Processed material {}", materialId);
+        } catch (Exception e) {
+            materialsRepository.releaseFailedProcessing(materialId, maxAttempts);
+            log.warn("Processing material {} failed: {}", materialId, e.getMessage());
+        }
+    }
+
+    /**
+     * Uploads of identical content share one stored object, so they can
+     * share the processing result too.
+     */
+    private boolean reuseDuplicate(Material material) {
+        if (material.getContentHash() == null) {
+            return false;
+        }
+
+        Optional<Material> done = materialsRepository
+                .findFirstByContentHashAndProcessingStatus(material.getContentHash(), MaterialProcessingStatus.DONE);
+        if (done.isEmpty() || done.get().getId().equals(material.getId())) {
+            return false;
+        }
+
+        materialsRepository.completeProcessing(
+                material.getId(), MaterialProcessingStatus.DONE, done.get().getExtractedText(), done.get().getThumbnailUrl());
+        publishUpdated(material);
+        return true;
+    }
+
+    private void publishUpdated(Material material) {
+        eventPublisher.publishEvent(new MaterialUpdatedEvent(
+                material.getId(), material.getSubject().getId(), material.getUser().getId()));
+    }
+
+    private ExtractedContent extract(Material material) throws IOException {
+        Path local = Files.createTempFile(workDir, "material-" + material.getId() + "-", ".tmp");
+
+        try {
+            try (InputStream in = materialStorage.open(new StoredObject(material.getStorageKey(), material.getUrl()))) {
+                Files.copy(in, local, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return extractor.extract(material.getOriginalFilename(), local);
+        } finally {
+            Files.deleteIfExists(local);
+        }
+    }
+}
@@ -1,26 +1,205 @@
 package com.DaiMiLed.server.repositories;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.DaiMiLed.server.dtos.Materials.MaterialResponse;
 import com.DaiMiLed.server.models.Material;
-import com.DaiMiLed.server.models.User;
+import com.DaiMiLed.server.models.MaterialProcessingStatus;
 
 @Repository
 public interface MaterialsRepository extends JpaRepository<Material, Long> {
+
+    /**
+     * Listing rows are selected straight into {@link MaterialResponse}, so
+     * no Material or User entity (password hash, role proxy) is hydrated
+     * or tracked by the persistence context.
+     */
+    String SELECT_RESPONSE = "SELECT new com.DaiMiLed.server.dtos.Materials.MaterialResponse("
+            + "m.id, u.username, s.name, m.url, m.thumbnailUrl, m.createdAt) "
+            + "FROM Material m JOIN m.user u JOIN m.subject s ";
+
+    /**
+     * Read-only on its own, so the subject page cache opens a transaction
+     * (and borrows a connection) only when it has to load a page.
+     */
+    @Transactional(readOnly = true)
+    @Query(
+        value = SELECT_RESPONSE + "WHERE m.subject.id = :subjectId",
+        countQuery = "SELECT COUNT(m) FROM Material m WHERE m.subject.id = :subjectId"
+    )
+    Page<MaterialResponse> findResponsesBySubject(@Param("subjectId") Integer subjectId, Pageable pageable);
+
     @Query(
-        value = "SELECT m FROM Material m JOIN FETCH m.user WHERE m.subject = :subject",
-        countQuery = "SELECT COUNT(m) FROM Material m WHERE m.subject = :subject"
+        value = SELECT_RESPONSE + "WHERE m.user.id = :userId",
+        countQuery = "SELECT COUNT(m) FROM Material m WHERE m.user.id = :userId"
     )
-    Page<Material> findBySubjectWithUser(@Param("subject") String subject, Pageable pageable);
+    Page<MaterialResponse> findResponsesByUser(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(SELECT_RESPONSE + "WHERE m.subject.id = :subjectId "
+            + "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MaterialResponse> findLatestBySubject(@Param("subjectId") Integer subjectId, Limit limit);
+
+    @Query(SELECT_RESPONSE + "WHERE m.subject.id = :subjectId "
+            + "AND (m.createdAt, m.id) < (:createdAt, :id) "
+            + "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MaterialResponse> findBySubjectBefore(
+            @Param("subjectId") Integer subjectId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Limit limit);
+
+    @Query(SELECT_RESPONSE + "WHERE m.user.id = :userId "
+            + "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MaterialResponse> findLatestByUser(@Param("userId") Long userId, Limit limit);
+
+    @Query(SELECT_RESPONSE + "WHERE m.user.id = :userId "
+            + "AND (m.createdAt, m.id) < (:createdAt, :id) "
+            + "ORDER BY m.createdAt DESC, m.id DESC")
+    List<MaterialResponse> findByUserBefore(
+            @Param("userId") Long userId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Limit limit);
+
+    long countByUserId(Long userId);
+
+    Optional<Material> findFirstByContentHash(String contentHash);
 
+    /**
+     * Read on the primary so a confirm repeated right after the first one
+     * sees the material it recorded.
+     */
+    @Transactional
+    Optional<Material> findFirstByStorageKey(String storageKey);
+
+    /**
+     * Full-text matches, plus materials in one of the given subjects that
+     * also match the query terms left after the subject name ({@code ""}
+     * when the query is only a subject name). Pass {@code -1} when no
+     * subject matches the query.
+     */
+    String SEARCH_FROM = "FROM materials m, websearch_to_tsquery('simple', :query) q "
+            + "WHERE (m.search_vector @@ q OR (m.subject_id IN (:subjectIds) "
+            + "AND (CAST(:otherTerms AS text) = '' OR m.search_vector @@ websearch_to_tsquery('simple', :otherTerms)))) "
+            + "AND (CAST(:subjectFilter AS integer) IS NULL OR m.subject_id = :subjectFilter) ";
+
+    /**
+     * Ranked full-text search backed by the GIN index on search_vector.
+     * Subject matches are ranked just above plain text hits. Returns a
+     * slice, so paging never runs a COUNT; see {@link #countSearch}.
+     */
     @Query(
-        value = "SELECT m FROM Material m JOIN FETCH m.user WHERE m.user = :user",
-        countQuery = "SELECT COUNT(m) FROM Material m WHERE m.user = :user"
+        value = "SELECT m.id " + SEARCH_FROM
+                + "ORDER BY ts_rank(m.search_vector, q) "
+                + "+ CASE WHEN m.subject_id IN (:subjectIds) THEN 0.5 ELSE 0 END DESC, "
+                + "m.created_at DESC, m.id DESC",
+        nativeQuery = true
     )
-    Page<Material> findByUserWithUser(@Param("user") User user, Pageable pageable);
-}
\ No newline at end of file
+    Slice<Long> searchIds(
+            @Param("query") String query,
+            @Param("subjectIds") Collection<Integer> subjectIds,
+            @Param("otherTerms") String otherTerms,
+            @Param("subjectFilter") Integer subjectFilter,
+            Pageable pageable);
+
+    @Query(value = "SELECT COUNT(*) " + SEARCH_FROM, nativeQuery = true)
+    long countSearch(
+            @Param("query") String query,
+            @Param("subjectIds") Collection<Integer> subjectIds,
+            @Param("otherTerms") String otherTerms,
+            @Param("subjectFilter") Integer subjectFilter);
+
+    @Query(SELECT_RESPONSE + "WHERE m.id IN :ids")
+    List<MaterialResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Read from the primary, so a material just announced by another node
+     * is found even while the replica lags behind.
+     */
+    @Transactional
+    @Query(SELECT_RESPONSE + "WHERE m.id = :id")
+    Optional<MaterialResponse> findResponseById(@Param("id") Long id);
+
+    /**
+     * Ids of materials the processing pipeline still has to handle, including
+     * claims abandoned by a node that stopped mid-job.
+     */
+    @Transactional
+    @Query("SELECT m.id FROM Material m WHERE m.processingAttempts < :maxAttempts "
+            + "AND (m.processingStatus = com.DaiMiLed.server.models.MaterialProcessingStatus.PENDING "
+            + "OR (m.processingStatus = com.DaiMiLed.server.models.MaterialProcessingStatus.PROCESSING "
+            + "AND m.processingStartedAt < :staleBefore)) ORDER BY m.id")
+    List<Long> findIdsAwaitingProcessing(
+            @Param("maxAttempts") int maxAttempts, @Param("staleBefore") Instant staleBefore, Limit limit);
+
+    /**
+     * Atomically claims a material for processing. Returns 0 when another
+     * worker or node already holds a live claim or the work is finished.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Material m SET m.processingStatus = com.DaiMiLed.server.models.MaterialProcessingStatus.PROCESSING, "
+            + "m.processingAttempts = m.processingAttempts + 1, m.processingStartedAt = :now "
+            + "WHERE m.id = :id AND m.processingAttempts < :maxAttempts "
+            + "AND (m.processingStatus = com.DaiMiLed.server.models.MaterialProcessingStatus.PENDING "
+            + "OR (m.processingStatus = com.DaiMiLed.server.models.MaterialProcessingStatus.PROCESSING "
+            + "AND m.processingStartedAt < :staleBefore))")
+    int claimForProcessing(
+            @Param("id") Long id,
+            @Param("now") Instant now,
+            @Param("staleBefore") Instant staleBefore,
+            @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * Marks FAILED the materials whose last allowed claim was abandoned by a
+     * node that stopped mid-job; no worker would ever claim them again.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Material m SET m.processingStatus = com.DaiMiLed.server.models.MaterialProcessingStatus.FAILED "
+            + "WHERE m.processingStatus = com.DaiMiLed.server.models.MaterialProcessingStatus.PROCESSING "
+            + "AND m.processingAttempts >= :maxAttempts AND m.processingStartedAt < :staleBefore")
+    int failAbandonedProcessing(@Param("maxAttempts") int maxAttempts, @Param("staleBefore") Instant staleBefore);
+
+    @Transactional
+    @Query("SELECT m FROM Material m WHERE m.id = :id")
+    Optional<Material> findForProcessing(@Param("id") Long id);
+
+    @Transactional
+    Optional<Material> findFirstByContentHashAndProcessingStatus(String contentHash, MaterialProcessingStatus processingStatus);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Material m SET m.processingStatus = :status, m.extractedText = :extractedText, "
+            + "m.thumbnailUrl = :thumbnailUrl WHERE m.id = :id")
+    int completeProcessing(
+            @Param("id") Long id,
+            @Param("status") MaterialProcessingStatus status,
+            @Param("extractedText") String extractedText,
+            @Param("thumbnailUrl") String thumbnailUrl);
+
+    /**
+     * Puts a failed claim back to PENDING, or FAILED once the attempts are
+     * used up.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Material m SET m.processingStatus = CASE WHEN m.processingAttempts >= :maxAttempts "
+            + "THEN com.DaiMiLed.server.models.MaterialProcessingStatus.FAILED "
+            + "ELSE com.DaiMiLed.server.models.MaterialProcessingStatus.PENDING END WHERE m.id = :id")
+    int releaseFailedProcessing(@Param("id") Long id, @Param("maxAttempts") int maxAttempts);
+}
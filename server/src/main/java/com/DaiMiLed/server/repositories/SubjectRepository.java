@@ -0,0 +1,30 @@
+package com.DaiMiLed.server.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.DaiMiLed.server.models.Subject;
+
+@Repository
+public interface SubjectRepository extends JpaRepository<Subject, Integer> {
+
+    /**
+     * Read on the primary so a subject created on another node is found
+     * before a duplicate insert is attempted.
+     */
+    @Transactional
+    Optional<Subject> findByNormalizedName(String normalizedName);
+
+    @Query("SELECT m.subject.id AS subjectId, COUNT(m) AS materialCount FROM Material m GROUP BY m.subject.id")
+    List<SubjectCount> countMaterialsPerSubject();
+
+    interface SubjectCount {
+        Integer getSubjectId();
+        long getMaterialCount();
+    }
+}
@@ -0,0 +1,57 @@
+package com.DaiMiLed.server.repositories;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.DaiMiLed.server.models.UploadSession;
+
+/**
+ * Sessions are read and written on the primary: the next chunk may arrive
+ * at another node right after this one moved the offset.
+ */
+@Repository
+@Transactional
+public interface UploadSessionRepository extends JpaRepository<UploadSession, UUID> {
+
+    /**
+     * Moves the offset forward, unless another request already moved it.
+     */
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.uploadOffset = :newOffset, s.updatedAt = :now "
+            + "WHERE s.id = :id AND s.uploadOffset = :expectedOffset")
+    int advanceOffset(
+            @Param("id") UUID id,
+            @Param("expectedOffset") long expectedOffset,
+            @Param("newOffset") long newOffset,
+            @Param("now") Instant now);
+
+    /**
+     * Moves the offset back to the bytes this node actually holds, unless
+     * another request already moved it.
+     */
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.uploadOffset = :newOffset, s.updatedAt = :now "
+            + "WHERE s.id = :id AND s.uploadOffset = :expectedOffset AND :newOffset < s.uploadOffset")
+    int rewindOffset(
+            @Param("id") UUID id,
+            @Param("expectedOffset") long expectedOffset,
+            @Param("newOffset") long newOffset,
+            @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE UploadSession s SET s.materialId = :materialId, s.updatedAt = :now "
+            + "WHERE s.id = :id AND s.materialId IS NULL")
+    int markCompleted(@Param("id") UUID id, @Param("materialId") Long materialId, @Param("now") Instant now);
+
+    @Query("SELECT s.id FROM UploadSession s WHERE s.updatedAt < :cutoff ORDER BY s.updatedAt")
+    List<UUID> findIdsUpdatedBefore(@Param("cutoff") Instant cutoff, Limit limit);
+}
@@ -1,15 +1,42 @@
 package com.DaiMiLed.server.repositories;
 
 import com.DaiMiLed.server.models.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
+/**
+ * User lookups run in read-write transactions so they always hit the primary;
+ * a user who has just registered must be able to log in immediately.
+ */
+@Transactional
 public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
-    Optional<User> findByUsername(String username);
+    @EntityGraph(attributePaths = "role")
+    @Query("SELECT u FROM User u WHERE u.username = :login OR u.email = :login")
+    List<User> findAllByLogin(@Param("login") String login);
 
-    boolean existsByEmail(String email);
+    /**
+     * Finds a user by username or email in one query. If the login is one
+     * user's username and another user's email, the username match wins.
+     */
+    default Optional<User> findByLogin(String login) {
+        List<User> users = findAllByLogin(login);
+        return users.stream()
+                .filter(user -> login.equals(user.getUsername()))
+                .findFirst()
+                .or(() -> users.stream().findFirst());
+    }
 
-    boolean existsByUsername(String username);
+    /**
+     * Swaps in a rehashed password, unless the hash changed since it was read.
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :newHash WHERE u.id = :id AND u.passwordHash = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 }
@@ -3,9 +3,12 @@ package com.DaiMiLed.server.services;
 import com.DaiMiLed.server.dtos.AuthResponse;
 import com.DaiMiLed.server.dtos.LoginRequest;
 import com.DaiMiLed.server.dtos.RegisterRequest;
+import com.DaiMiLed.server.jwt.AuthenticatedUser;
 
 public interface AuthService {
     AuthResponse register(RegisterRequest request);
 
     AuthResponse login(LoginRequest request);
+
+    AuthResponse issueFeedToken(AuthenticatedUser principal);
 }
\ No newline at end of file
@@ -5,41 +5,39 @@ import com.DaiMiLed.server.dtos.LoginRequest;
 import com.DaiMiLed.server.dtos.RegisterRequest;
 import com.DaiMiLed.server.exceptions.EmailAlreadyExistsException;
 import com.DaiMiLed.server.exceptions.InvalidCredentialsException;
+import com.DaiMiLed.server.exceptions.PasswordHashingBusyException;
 import com.DaiMiLed.server.exceptions.RoleNotFoundException;
 import com.DaiMiLed.server.exceptions.UsernameAlreadyExistsException;
+import com.DaiMiLed.server.jwt.AuthenticatedUser;
 import com.DaiMiLed.server.jwt.JwtProvider;
 import com.DaiMiLed.server.models.Role;
 import com.DaiMiLed.server.models.User;
-import com.DaiMiLed.server.repositories.RoleRepository;
 import com.DaiMiLed.server.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Locale;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
 
+    private static final String USERNAME_CONSTRAINT = "uk_users_username";
+    private static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleCatalog roleCatalog;
     private final PasswordEncoder passwordEncoder;
     private final JwtProvider jwtProvider;
 
     @Override
     public AuthResponse register(RegisterRequest request) {
-        if (userRepository.existsByEmail(request.getEmail())) {
-            log.warn("Registration attempt with already existing email: {}", request.getEmail());
-            throw new EmailAlreadyExistsException(request.getEmail());
-        }
-
-        if (userRepository.existsByUsername(request.getUsername())) {
-            log.warn("Registration attempt with already existing username: {}", request.getUsername());
-            throw new UsernameAlreadyExistsException(request.getUsername());
-        }
-
-        Role role = roleRepository.findByName(request.getRole())
+        Role role = roleCatalog.find(request.getRole())
                 .orElseThrow(() -> {
                     String errorMsg = String.format("Role %s not found in database.", request.getRole());
                     log.error(errorMsg);
@@ -54,9 +52,13 @@ public class AuthServiceImpl implements AuthService {
                 encodedPassword,
                 role);
 
-        userRepository.save(user);
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw translateUniqueViolation(e, request);
+        }
 
-        String token = jwtProvider.generateToken(user.getUsername(), user.getEmail());
+        String token = jwtProvider.generateToken(user);
         log.info("User registered and authenticated: {}", user.getUsername());
 
         return new AuthResponse(token, request.getRole() + " registered and authenticated successfully");
@@ -64,9 +66,7 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public AuthResponse login(LoginRequest request) {
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseGet(() -> userRepository.findByEmail(request.getUsername())
-                        .orElse(null));
+        User user = userRepository.findByLogin(request.getUsername()).orElse(null);
 
         if (user == null) {
             log.warn("Login attempt with non-existent username or email: {}", request.getUsername());
@@ -78,9 +78,62 @@ public class AuthServiceImpl implements AuthService {
             throw new InvalidCredentialsException();
         }
 
-        String token = jwtProvider.generateToken(user.getUsername(), user.getEmail());
+        rehashIfOutdated(user, request.getPassword());
+
+        String token = jwtProvider.generateToken(user);
         log.info("User successfully logged in and authenticated: {}", user.getUsername());
 
         return new AuthResponse(token, "Login successful");
     }
+
+    @Override
+    public AuthResponse issueFeedToken(AuthenticatedUser principal) {
+        return new AuthResponse(jwtProvider.generateFeedToken(principal), "Feed token issued");
+    }
+
+    /**
+     * Uniqueness is left to the uk_users_username and uk_users_email
+     * constraints instead of checking first, which also closes the race
+     * between two registrations for the same name.
+     */
+    private RuntimeException translateUniqueViolation(DataIntegrityViolationException e, RegisterRequest request) {
+        String constraint = constraintName(e);
+        if (constraint.contains(USERNAME_CONSTRAINT)) {
+            log.warn("Registration attempt with already existing username: {}", request.getUsername());
+            return new UsernameAlreadyExistsException(request.getUsername());
+        }
+        if (constraint.contains(EMAIL_CONSTRAINT)) {
+            log.warn("Registration attempt with already existing email: {}", request.getEmail());
+            return new EmailAlreadyExistsException(request.getEmail());
+        }
+        return e;
+    }
+
+    private static String constraintName(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Re-encodes the password with the current encoder settings when the
+     * stored hash uses an older algorithm or work factor. Skipped when the
+     * hashing pool is busy; the next login will try again.
+     */
+    private void rehashIfOutdated(User user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPasswordHash())) {
+            return;
+        }
+
+        try {
+            String upgraded = passwordEncoder.encode(rawPassword);
+            userRepository.updatePasswordHash(user.getId(), user.getPasswordHash(), upgraded);
+            log.info("Password hash upgraded for user: {}", user.getUsername());
+        } catch (PasswordHashingBusyException e) {
+            log.debug("Password rehash skipped, hashing pool busy: {}", user.getUsername());
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package com.DaiMiLed.server.services.Materials;
+
+import com.DaiMiLed.server.dtos.Materials.DirectUploadConfirmRequest;
+import com.DaiMiLed.server.dtos.Materials.DirectUploadRequest;
+import com.DaiMiLed.server.dtos.Materials.DirectUploadTicket;
+import com.DaiMiLed.server.jwt.AuthenticatedUser;
+
+/**
+ * Two-step upload where the file goes from the client straight to storage
+ * and the server only signs the request and records the result. Only
+ * available when the storage backend supports it.
+ */
+public interface DirectUploadService {
+    DirectUploadTicket issueTicket(DirectUploadRequest request, AuthenticatedUser principal);
+    Long confirm(DirectUploadConfirmRequest request, AuthenticatedUser principal);
+}
@@ -0,0 +1,26 @@
+package com.DaiMiLed.server.services.Materials;
+
+import java.io.IOException;
+
+import com.DaiMiLed.server.events.MaterialCreatedEvent;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Live feed of newly created materials as Server-Sent Events, per subject
+ * and per owner, so clients no longer have to poll the listings.
+ */
+public interface MaterialFeedService {
+    /**
+     * Turns the request into an open feed connection. The response is
+     * written asynchronously after the handler returns.
+     */
+    void subscribeToSubject(String subject, HttpServletRequest request) throws IOException;
+    void subscribeToUser(Long userId, HttpServletRequest request) throws IOException;
+
+    /**
+     * Sends a committed material to this node's subscribers. Called by the
+     * feed relay, on every node.
+     */
+    void publish(MaterialCreatedEvent event);
+}
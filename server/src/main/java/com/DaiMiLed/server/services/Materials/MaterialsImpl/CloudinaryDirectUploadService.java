@@ -0,0 +1,236 @@
+package com.DaiMiLed.server.services.Materials.MaterialsImpl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.DaiMiLed.server.bulkheads.Bulkhead;
+import com.DaiMiLed.server.dtos.Materials.DirectUploadConfirmRequest;
+import com.DaiMiLed.server.dtos.Materials.DirectUploadRequest;
+import com.DaiMiLed.server.dtos.Materials.DirectUploadTicket;
+import com.DaiMiLed.server.exceptions.BulkheadFullException;
+import com.DaiMiLed.server.exceptions.DirectUploadRejectedException;
+import com.DaiMiLed.server.exceptions.InvalidSubjectException;
+import com.DaiMiLed.server.exceptions.UploadExeption;
+import com.DaiMiLed.server.jwt.AuthenticatedUser;
+import com.DaiMiLed.server.models.Material;
+import com.DaiMiLed.server.repositories.MaterialsRepository;
+import com.DaiMiLed.server.services.Materials.DirectUploadService;
+import com.DaiMiLed.server.services.Materials.MaterialsService;
+import com.DaiMiLed.server.storage.StoredObject;
+import com.cloudinary.Cloudinary;
+import com.cloudinary.api.exceptions.NotFound;
+import com.cloudinary.utils.ObjectUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Direct uploads to Cloudinary. The ticket is a signed upload request whose
+ * public_id sits under the user's own folder and whose context carries the
+ * subject, filename and issue time, so none of them can be changed by the
+ * client. On confirm the upload response signature is checked, and the
+ * stored asset is read back from the Admin API for its real size and
+ * context before the material is recorded. Admin API calls hold a slot of
+ * the storage bulkhead.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryDirectUploadService implements DirectUploadService {
+
+    /** Also the prefix uk_materials_direct_storage_key (V10) covers. */
+    private static final String FOLDER = "Materials/direct/";
+
+    private static final String SUBJECT_CONTEXT = "subject";
+    private static final String FILENAME_CONTEXT = "filename";
+    private static final String ISSUED_AT_CONTEXT = "issued_at";
+
+    private static final Set<String> RESOURCE_TYPES = Set.of("image", "raw", "video");
+
+    private final Cloudinary cloudinary;
+
+    private final MaterialsService materialsService;
+
+    private final MaterialsRepository materialsRepository;
+
+    private final Bulkhead storageBulkhead;
+
+    private final Duration ticketTtl;
+
+    private final DataSize maxSize;
+
+    private final String allowedFormats;
+
+    public CloudinaryDirectUploadService(
+            Cloudinary cloudinary,
+            MaterialsService materialsService,
+            MaterialsRepository materialsRepository,
+            @Qualifier("storageBulkhead") Bulkhead storageBulkhead,
+            @Value("${app.upload.direct.ticket-ttl}") Duration ticketTtl,
+            @Value("${app.upload.direct.max-size}") DataSize maxSize,
+            @Value("${app.upload.direct.allowed-formats}") String allowedFormats) {
+        this.cloudinary = cloudinary;
+        this.materialsService = materialsService;
+        this.materialsRepository = materialsRepository;
+        this.storageBulkhead = storageBulkhead;
+        this.ticketTtl = ticketTtl;
+        this.maxSize = maxSize;
+        this.allowedFormats = allowedFormats;
+    }
+
+    @Override
+    public DirectUploadTicket issueTicket(DirectUploadRequest request, AuthenticatedUser principal) {
+        if (request.getSubject().isBlank()) {
+            throw new InvalidSubjectException();
+        }
+        if (request.getSize() > maxSize.toBytes()) {
+            throw tooLarge();
+        }
+
+        long timestamp = Instant.now().getEpochSecond();
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("timestamp", timestamp);
+        params.put("public_id", folder(principal) + UUID.randomUUID());
+        params.put("allowed_formats", allowedFormats);
+        params.put("context", context(request.getSubject().trim(), request.getFilename(), timestamp));
+
+        String signature = cloudinary.apiSignRequest(params, cloudinary.config.apiSecret);
+
+        Map<String, Object> fields = new LinkedHashMap<>(params);
+        fields.put("api_key", cloudinary.config.apiKey);
+        fields.put("signature", signature);
+
+        return new DirectUploadTicket(
+                cloudinary.cloudinaryApiUrl("upload", ObjectUtils.asMap("resource_type", "auto")),
+                fields,
+                Instant.ofEpochSecond(timestamp).plus(ticketTtl));
+    }
+
+    @Override
+    public Long confirm(DirectUploadConfirmRequest request, AuthenticatedUser principal) {
+        String publicId = request.getPublicId();
+        if (!publicId.startsWith(folder(principal))) {
+            throw new DirectUploadRejectedException("Upload was not issued to this user");
+        }
+        if (!cloudinary.verifyApiResponseSignature(publicId, String.valueOf(request.getVersion()), request.getSignature())) {
+            throw new DirectUploadRejectedException("Upload signature does not match");
+        }
+
+        Optional<Long> recorded = materialsRepository.findFirstByStorageKey(publicId).map(Material::getId);
+        if (recorded.isPresent()) {
+            return recorded.get();
+        }
+
+        try {
+            return record(publicId, resourceType(request), principal);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent confirm of the same upload recorded it first
+            // (uk_materials_direct_storage_key).
+            return materialsRepository.findFirstByStorageKey(publicId)
+                    .map(Material::getId)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private Long record(String publicId, String resourceType, AuthenticatedUser principal) {
+        Map<?, ?> resource = fetch(publicId, resourceType);
+        Map<?, ?> context = customContext(resource);
+
+        Instant createdAt = Instant.parse((String) resource.get("created_at"));
+        Instant issuedAt = Instant.ofEpochSecond(Long.parseLong((String) context.get(ISSUED_AT_CONTEXT)));
+        long bytes = ((Number) resource.get("bytes")).longValue();
+
+        if (createdAt.isAfter(issuedAt.plus(ticketTtl))) {
+            destroy(publicId, resourceType);
+            throw new DirectUploadRejectedException("Upload ticket expired");
+        }
+        if (bytes > maxSize.toBytes()) {
+            destroy(publicId, resourceType);
+            throw tooLarge();
+        }
+
+        StoredObject stored = new StoredObject(publicId, (String) resource.get("secure_url"));
+        Long id = materialsService.crateMaterial(
+                (String) context.get(SUBJECT_CONTEXT),
+                stored,
+                (String) context.get(FILENAME_CONTEXT),
+                principal.getId());
+
+        log.info("Recorded direct upload {} ({} bytes) as material {}", publicId, bytes, id);
+        return id;
+    }
+
+    private Map<?, ?> fetch(String publicId, String resourceType) {
+        try (Bulkhead.Permit permit = storageBulkhead.acquire()) {
+            return cloudinary.api().resource(publicId, ObjectUtils.asMap(
+                    "resource_type", resourceType,
+                    "context", true));
+        } catch (NotFound e) {
+            throw new DirectUploadRejectedException("Upload not found in storage");
+        } catch (BulkheadFullException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new UploadExeption("Could not read direct upload " + publicId, e);
+        }
+    }
+
+    private void destroy(String publicId, String resourceType) {
+        try (Bulkhead.Permit permit = storageBulkhead.acquire()) {
+            cloudinary.uploader().destroy(publicId, ObjectUtils.asMap("resource_type", resourceType));
+        } catch (Exception e) {
+            log.warn("Could not delete rejected direct upload {}", publicId, e);
+        }
+    }
+
+    private static Map<?, ?> customContext(Map<?, ?> resource) {
+        if (resource.get("context") instanceof Map<?, ?> context
+                && context.get("custom") instanceof Map<?, ?> custom
+                && custom.get(ISSUED_AT_CONTEXT) != null) {
+            return custom;
+        }
+        throw new DirectUploadRejectedException("Upload was not made with a ticket");
+    }
+
+    /**
+     * Cloudinary context string; '=' and '|' in values are escaped.
+     */
+    private static String context(String subject, String filename, long issuedAt) {
+        return SUBJECT_CONTEXT + "=" + escape(subject)
+                + "|" + FILENAME_CONTEXT + "=" + escape(filename)
+                + "|" + ISSUED_AT_CONTEXT + "=" + issuedAt;
+    }
+
+    private static String escape(String value) {
+        return value.replace("=", "\\=").replace("|", "\\|");
+    }
+
+    private static String folder(AuthenticatedUser principal) {
+        return FOLDER + principal.getId() + "/";
+    }
+
+    private static String resourceType(DirectUploadConfirmRequest request) {
+        String type = request.getResourceType();
+        if (type == null) {
+            return "image";
+        }
+        if (!RESOURCE_TYPES.contains(type)) {
+            throw new DirectUploadRejectedException("Unknown resource type: " + type);
+        }
+        return type;
+    }
+
+    private DirectUploadRejectedException tooLarge() {
+        return new DirectUploadRejectedException("File exceeds the " + maxSize.toMegabytes() + "MB upload limit");
+    }
+}
@@ -0,0 +1,144 @@
+package com.DaiMiLed.server.services.Materials.MaterialsImpl;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import lombok.Getter;
+
+/**
+ * One open feed connection and the frames still waiting to be written to
+ * it. Writes are non-blocking: frames are written only while the output
+ * stream is ready, and the container calls {@link #writePossible} once a
+ * client that fell behind has taken the rest. At most one sender drains the
+ * queue at a time.
+ */
+class FeedSubscriber {
+
+    @Getter
+    private final String topic;
+
+    private final AsyncContext asyncContext;
+
+    private final ServletOutputStream output;
+
+    private final BlockingQueue<byte[]> pending;
+
+    private final AtomicBoolean sending = new AtomicBoolean();
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * False from the moment the stream was not ready until the container's
+     * callback, and before its first one, so nothing is written while the
+     * request is still on its way back through the filter chain.
+     */
+    private volatile boolean writable;
+
+    private volatile boolean unflushed;
+
+    private volatile long blockedSinceNanos;
+
+    private boolean completed;
+
+    FeedSubscriber(String topic, AsyncContext asyncContext, int bufferSize) throws IOException {
+        this.topic = topic;
+        this.asyncContext = asyncContext;
+        this.output = asyncContext.getResponse().getOutputStream();
+        this.pending = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    void setWriteListener(WriteListener listener) {
+        output.setWriteListener(listener);
+    }
+
+    /**
+     * @return false when the buffer is full, i.e. the client is not keeping up
+     */
+    boolean offer(byte[] frame) {
+        return pending.offer(frame);
+    }
+
+    /**
+     * @return whether there is something to write and the stream can take it
+     */
+    boolean canWrite() {
+        return writable && (unflushed || !pending.isEmpty());
+    }
+
+    boolean startSending() {
+        return sending.compareAndSet(false, true);
+    }
+
+    void stopSending() {
+        sending.set(false);
+    }
+
+    /**
+     * Writes queued frames and flushes them for as long as the stream is
+     * ready. Returns as soon as it is not; the container then calls
+     * {@link #writePossible} when the client can take more.
+     */
+    synchronized void write() throws IOException {
+        if (!writable || completed) {
+            return;
+        }
+
+        while (output.isReady()) {
+            byte[] frame = pending.poll();
+            if (frame != null) {
+                output.write(frame);
+                unflushed = true;
+            } else if (unflushed) {
+                unflushed = false;
+                output.flush();
+            } else {
+                return;
+            }
+        }
+        writable = false;
+        blockedSinceNanos = System.nanoTime();
+    }
+
+    /**
+     * Synchronized with {@link #write}, so a callback that arrives while a
+     * write is still finding the stream not ready is not lost.
+     */
+    synchronized void writePossible() {
+        writable = true;
+    }
+
+    /**
+     * @return whether the stream has not been ready for longer than the given time
+     */
+    boolean isBlockedLongerThan(long nanos) {
+        return !writable && blockedSinceNanos != 0 && System.nanoTime() - blockedSinceNanos > nanos;
+    }
+
+    /**
+     * Ends the response. Never waits for the client, since no write is ever
+     * in progress outside of {@link #write}.
+     */
+    synchronized void complete() {
+        if (completed) {
+            return;
+        }
+        completed = true;
+        try {
+            asyncContext.complete();
+        } catch (IllegalStateException e) {
+            // The container already ended the request, e.g. after a network error.
+        }
+    }
+
+    /**
+     * @return true only for the first call
+     */
+    boolean close() {
+        return closed.compareAndSet(false, true);
+    }
+}
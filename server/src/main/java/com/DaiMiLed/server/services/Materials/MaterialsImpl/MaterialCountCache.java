@@ -0,0 +1,35 @@
+package com.DaiMiLed.server.services.Materials.MaterialsImpl;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Short-lived cache of per-user material counts so cursor listings that ask
+ * for a total do not run a COUNT on every page. Per-subject counts are kept
+ * by the subject catalog.
+ */
+@Component
+public class MaterialCountCache {
+
+    private final Cache<Long, Long> byUser;
+
+    public MaterialCountCache(
+            @Value("${app.material.count-cache.max-size}") long maxSize,
+            @Value("${app.material.count-cache.ttl}") Duration ttl) {
+        this.byUser = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+    }
+
+    public long countByUser(Long userId, Function<Long, Long> loader) {
+        return byUser.get(userId, loader);
+    }
+
+    public void evict(Long userId) {
+        byUser.invalidate(userId);
+    }
+}
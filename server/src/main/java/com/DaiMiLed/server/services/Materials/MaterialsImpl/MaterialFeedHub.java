@@ -0,0 +1,348 @@
+package com.DaiMiLed.server.services.Materials.MaterialsImpl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.DaiMiLed.server.dtos.Materials.MaterialResponse;
+import com.DaiMiLed.server.events.MaterialCreatedEvent;
+import com.DaiMiLed.server.exceptions.FeedCapacityExceededException;
+import com.DaiMiLed.server.exceptions.InvalidSubjectException;
+import com.DaiMiLed.server.models.Subject;
+import com.DaiMiLed.server.repositories.MaterialsRepository;
+import com.DaiMiLed.server.services.Materials.MaterialFeedService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Fans new materials out to the open feed connections of this node. An idle
+ * connection costs no thread, only its async request and a small frame
+ * buffer. Each event is serialized once into a ready-made SSE frame that is
+ * shared by all its subscribers and written by a small sender pool. Writes
+ * use non-blocking servlet output, so neither publishing nor a sender ever
+ * waits on a client. A client whose buffer fills up, or that has not taken
+ * a write for {@code app.feed.max-write-ms}, is disconnected and is expected
+ * to reconnect and reload the listing.
+ */
+@Slf4j
+@Service
+public class MaterialFeedHub implements MaterialFeedService {
+
+    private static final String EVENT_STREAM_UTF8 = MediaType.TEXT_EVENT_STREAM_VALUE + ";charset=UTF-8";
+
+    private static final String MATERIAL_EVENT = "material";
+
+    private static final byte[] RECONNECT_DELAY = frame("retry:5000\n\n");
+
+    private static final byte[] HEARTBEAT = frame(":heartbeat\n\n");
+
+    private final Map<String, Set<FeedSubscriber>> topics = new ConcurrentHashMap<>();
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final MaterialsRepository materialsRepository;
+
+    private final JsonMapper jsonMapper;
+
+    private final ThreadPoolExecutor senders;
+
+    private final int maxSubscribers;
+
+    private final int clientBuffer;
+
+    private final long timeoutMs;
+
+    private final long maxWriteNanos;
+
+    private final Counter evictions;
+
+    public MaterialFeedHub(
+            MaterialsRepository materialsRepository,
+            JsonMapper jsonMapper,
+            @Qualifier("feedSenderExecutor") ThreadPoolExecutor senders,
+            @Value("${app.feed.max-subscribers}") int maxSubscribers,
+            @Value("${app.feed.client-buffer}") int clientBuffer,
+            @Value("${app.feed.timeout-ms}") long timeoutMs,
+            @Value("${app.feed.max-write-ms}") long maxWriteMs,
+            MeterRegistry meterRegistry) {
+        this.materialsRepository = materialsRepository;
+        this.jsonMapper = jsonMapper;
+        this.senders = senders;
+        this.maxSubscribers = maxSubscribers;
+        this.clientBuffer = clientBuffer;
+        this.timeoutMs = timeoutMs;
+        this.maxWriteNanos = TimeUnit.MILLISECONDS.toNanos(maxWriteMs);
+
+        Gauge.builder("feed.subscribers", subscriberCount, AtomicInteger::get)
+                .register(meterRegistry);
+        this.evictions = Counter.builder("feed.evictions")
+                .description("Feed connections closed because the client fell behind")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void subscribeToSubject(String subject, HttpServletRequest request) throws IOException {
+        if (subject == null || subject.isBlank()) {
+            throw new InvalidSubjectException();
+        }
+        subscribe(subjectTopic(subject), request);
+    }
+
+    @Override
+    public void subscribeToUser(Long userId, HttpServletRequest request) throws IOException {
+        subscribe(userTopic(userId), request);
+    }
+
+    /**
+     * Loads the material once and queues it for the subscribers of its
+     * subject and of its owner.
+     */
+    @Override
+    public void publish(MaterialCreatedEvent event) {
+        if (topics.isEmpty()) {
+            return;
+        }
+
+        Optional<MaterialResponse> material = materialsRepository.findResponseById(event.getMaterialId());
+        if (material.isEmpty()) {
+            log.debug("Material {} not found, not sent to the feed", event.getMaterialId());
+            return;
+        }
+
+        byte[] frame = materialFrame(material.get());
+        broadcast(subjectTopic(material.get().getSubject()), frame);
+        broadcast(userTopic(event.getUserId()), frame);
+    }
+
+    /**
+     * Comment frames keep proxies from closing idle connections and reveal
+     * clients that went away without closing theirs.
+     */
+    @Scheduled(fixedRateString = "${app.feed.heartbeat-interval-ms}")
+    public void sendHeartbeats() {
+        topics.values().forEach(subscribers -> subscribers.forEach(subscriber -> enqueue(subscriber, HEARTBEAT)));
+    }
+
+    /**
+     * Disconnects clients that have stopped reading: their connection has
+     * not been ready for another write for {@code app.feed.max-write-ms}.
+     */
+    @Scheduled(fixedRateString = "${app.feed.max-write-ms}")
+    public void evictStalledClients() {
+        topics.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            if (subscriber.isBlockedLongerThan(maxWriteNanos)) {
+                evict(subscriber);
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        topics.values().forEach(subscribers -> subscribers.forEach(FeedSubscriber::complete));
+    }
+
+    /**
+     * Switches the request to async mode with non-blocking output. The
+     * container makes the first write-possible callback once the request
+     * thread has left the filter chain, and nothing is written before it.
+     */
+    private void subscribe(String topic, HttpServletRequest request) throws IOException {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new FeedCapacityExceededException();
+        }
+
+        FeedSubscriber subscriber;
+        try {
+            AsyncContext asyncContext = request.startAsync();
+            asyncContext.setTimeout(timeoutMs);
+
+            HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+            response.setContentType(EVENT_STREAM_UTF8);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+            subscriber = new FeedSubscriber(topic, asyncContext, clientBuffer);
+            asyncContext.addListener(new ConnectionListener(subscriber));
+            subscriber.setWriteListener(new SubscriberWriteListener(subscriber));
+        } catch (IOException | RuntimeException e) {
+            subscriberCount.decrementAndGet();
+            throw e;
+        }
+
+        topics.compute(topic, (key, subscribers) -> {
+            Set<FeedSubscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        enqueue(subscriber, RECONNECT_DELAY);
+    }
+
+    private void broadcast(String topic, byte[] frame) {
+        Set<FeedSubscriber> subscribers = topics.get(topic);
+        if (subscribers != null) {
+            subscribers.forEach(subscriber -> enqueue(subscriber, frame));
+        }
+    }
+
+    private void enqueue(FeedSubscriber subscriber, byte[] frame) {
+        if (!subscriber.offer(frame)) {
+            evict(subscriber);
+            return;
+        }
+        schedule(subscriber);
+    }
+
+    private void schedule(FeedSubscriber subscriber) {
+        if (subscriber.canWrite() && subscriber.startSending()) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.stopSending();
+                evict(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Writes what the connection takes without blocking. The second check
+     * after releasing the sending flag picks up frames queued, or a
+     * write-possible callback made, in between.
+     */
+    private void drain(FeedSubscriber subscriber) {
+        do {
+            try {
+                subscriber.write();
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Feed connection on {} closed: {}", subscriber.getTopic(), e.getMessage());
+                remove(subscriber);
+                subscriber.complete();
+                return;
+            }
+            subscriber.stopSending();
+        } while (subscriber.canWrite() && subscriber.startSending());
+    }
+
+    private void evict(FeedSubscriber subscriber) {
+        if (remove(subscriber)) {
+            evictions.increment();
+            log.debug("Feed client on {} fell behind, disconnecting it", subscriber.getTopic());
+            subscriber.complete();
+        }
+    }
+
+    private boolean remove(FeedSubscriber subscriber) {
+        if (!subscriber.close()) {
+            return false;
+        }
+
+        topics.computeIfPresent(subscriber.getTopic(), (key, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        subscriberCount.decrementAndGet();
+        return true;
+    }
+
+    private byte[] materialFrame(MaterialResponse material) {
+        return frame("id:" + material.getId() + "\n"
+                + "event:" + MATERIAL_EVENT + "\n"
+                + "data:" + jsonMapper.writeValueAsString(material) + "\n\n");
+    }
+
+    private static byte[] frame(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String subjectTopic(String subject) {
+        return "subject:" + Subject.normalize(subject);
+    }
+
+    private static String userTopic(Long userId) {
+        return "user:" + userId;
+    }
+
+    /**
+     * Called by the container once a client that fell behind can take more,
+     * and once right after the request thread has left the filter chain.
+     */
+    private final class SubscriberWriteListener implements WriteListener {
+
+        private final FeedSubscriber subscriber;
+
+        private SubscriberWriteListener(FeedSubscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void onWritePossible() {
+            subscriber.writePossible();
+            schedule(subscriber);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            log.debug("Feed connection on {} failed: {}", subscriber.getTopic(), error.getMessage());
+            remove(subscriber);
+            subscriber.complete();
+        }
+    }
+
+    /**
+     * Removes the subscriber however its request ends: completed by the hub,
+     * timed out after {@code app.feed.timeout-ms}, or dropped by the network.
+     */
+    private final class ConnectionListener implements AsyncListener {
+
+        private final FeedSubscriber subscriber;
+
+        private ConnectionListener(FeedSubscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            remove(subscriber);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            remove(subscriber);
+            subscriber.complete();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            remove(subscriber);
+            subscriber.complete();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.DaiMiLed.server.services.Materials.MaterialsImpl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.DaiMiLed.server.dtos.Materials.ListingVersion;
+import com.DaiMiLed.server.events.MaterialCreatedEvent;
+import com.DaiMiLed.server.events.MaterialUpdatedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * In-memory version stamps for the subject and per-user material listings,
+ * used to answer conditional GETs without touching the database. Stamps
+ * are bumped after a material is committed. They also expire after
+ * {@code app.material.version-stamps.ttl}, which bounds how long another
+ * node's writes can go unnoticed.
+ */
+@Component
+public class MaterialVersionStamps {
+
+    private final String node = Long.toHexString(UUID.randomUUID().getMostSignificantBits());
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Cache<Integer, ListingVersion> bySubject;
+
+    private final Cache<Long, ListingVersion> byUser;
+
+    public MaterialVersionStamps(
+            @Value("${app.material.version-stamps.max-size}") long maxSize,
+            @Value("${app.material.version-stamps.ttl}") Duration ttl) {
+        this.bySubject = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+        this.byUser = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+    }
+
+    public ListingVersion forSubject(Integer subjectId) {
+        return bySubject.get(subjectId, id -> next());
+    }
+
+    public ListingVersion forUser(Long userId) {
+        return byUser.get(userId, id -> next());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMaterialCreated(MaterialCreatedEvent event) {
+        bump(event.getSubjectId(), event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMaterialUpdated(MaterialUpdatedEvent event) {
+        bump(event.getSubjectId(), event.getUserId());
+    }
+
+    private void bump(Integer subjectId, Long userId) {
+        bySubject.put(subjectId, next());
+        byUser.put(userId, next());
+    }
+
+    /**
+     * Last-Modified has second precision, so it is truncated here to keep
+     * If-Modified-Since comparisons exact.
+     */
+    private ListingVersion next() {
+        return new ListingVersion(
+                node + "." + Long.toHexString(sequence.incrementAndGet()),
+                Instant.now().truncatedTo(ChronoUnit.SECONDS));
+    }
+}
@@ -1,89 +1,460 @@
 package com.DaiMiLed.server.services.Materials.MaterialsImpl;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import com.DaiMiLed.server.dtos.Materials.BatchMaterialRequest;
+import com.DaiMiLed.server.dtos.Materials.BatchUploadResult;
+import com.DaiMiLed.server.dtos.Materials.CursorPage;
+import com.DaiMiLed.server.dtos.Materials.ListingVersion;
+import com.DaiMiLed.server.dtos.Materials.MaterialCursor;
 import com.DaiMiLed.server.dtos.Materials.MaterialResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
 
+import com.DaiMiLed.server.datasource.ReadYourWritesTracker;
 import com.DaiMiLed.server.dtos.Materials.MaterialRequest;
-import com.DaiMiLed.server.exceptions.ObjectNotFound;
+import com.DaiMiLed.server.dtos.Subjects.SubjectResponse;
+import com.DaiMiLed.server.events.MaterialCreatedEvent;
+import com.DaiMiLed.server.exceptions.BulkheadFullException;
+import com.DaiMiLed.server.exceptions.InvalidUploadRequestException;
+import com.DaiMiLed.server.exceptions.UploadCapacityExceededException;
 import com.DaiMiLed.server.exceptions.UploadExeption;
-import com.DaiMiLed.server.jwt.JwtProvider;
+import com.DaiMiLed.server.exceptions.UploadQueueFullException;
+import com.DaiMiLed.server.jwt.AuthenticatedUser;
 import com.DaiMiLed.server.models.Material;
+import com.DaiMiLed.server.models.Subject;
 import com.DaiMiLed.server.models.User;
 import com.DaiMiLed.server.repositories.MaterialsRepository;
+import com.DaiMiLed.server.repositories.SubjectRepository;
 import com.DaiMiLed.server.repositories.UserRepository;
 import com.DaiMiLed.server.services.Materials.MaterialsService;
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
+import com.DaiMiLed.server.services.Subjects.SubjectService;
+import com.DaiMiLed.server.storage.MaterialStorage;
+import com.DaiMiLed.server.storage.StoredObject;
+import com.DaiMiLed.server.uploads.ContentHasher;
+import com.DaiMiLed.server.uploads.UploadThrottle;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MaterialsServiceImpl implements MaterialsService{
 
+    private static final int MAX_FILENAME_LENGTH = 255;
+
+    private static final Integer NO_SUBJECT = -1;
+
     private final MaterialsRepository materialsRepository;
         
-    private final Cloudinary cloudinary;
-
-    private final JwtProvider jwtProvider;
+    private final MaterialStorage materialStorage;
 
     private final UserRepository userRepository;
 
+    private final SubjectRepository subjectRepository;
+
+    private final SubjectService subjectService;
+
+    private final UploadThrottle uploadThrottle;
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    private final MaterialCountCache materialCountCache;
+
+    private final MaterialVersionStamps versionStamps;
+
+    private final SubjectPageCache subjectPageCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final MeterRegistry meterRegistry;
+
+    @Qualifier("batchUploadExecutor")
+    private final ThreadPoolExecutor batchUploadExecutor;
+
+    @Value("${app.upload.batch.max-files}")
+    private int batchMaxFiles;
+
+    @Value("${app.upload.batch.parallelism}")
+    private int batchParallelism;
 
     @Override
-    public Long crateMaterial(MaterialRequest materialRequest, String token) {
+    public Long crateMaterial(MaterialRequest materialRequest, AuthenticatedUser principal) {
 
-        String username = jwtProvider.getUsernameFromToken(token);
-        User user = userRepository.findByUsername(username).orElseThrow(() -> new ObjectNotFound("Object user not found. Invalid token maybe."));
+        User user = userRepository.getReferenceById(principal.getId());
+        MultipartFile file = materialRequest.getFile();
+        log.debug("Uploading {} to subject {}", file.getOriginalFilename(), materialRequest.getSubject());
 
-        String url;
+        try {
+            return storeMaterial(materialRequest.getSubject(), file.getOriginalFilename(), file, file.getSize(), user);
+        } catch (IOException e) {
+            throw new UploadExeption("Upload failed", e);
+        }
+    }
 
-        System.out.println(materialRequest.getSubject());
-        System.out.println(materialRequest.getFile().getOriginalFilename());
+    @Override
+    public Long crateMaterial(String subject, Path stagedFile, String originalFilename, Long userId) {
+        User user = userRepository.getReferenceById(userId);
 
         try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(
-                    materialRequest.getFile().getBytes(),
-                    ObjectUtils.asMap(
-                            "folder", "Materials/documents",
-                            "public_id", "document_for_" + user.getId() + "_" + System.currentTimeMillis(),
-                            "resource_type", "auto",
-                            "overwrite", true)
-                        );
-
-            url = (String) uploadResult.get("secure_url");
+            return storeMaterial(subject, originalFilename, new FileSystemResource(stagedFile), Files.size(stagedFile), user);
         } catch (IOException e) {
-            throw new UploadExeption("Upload failed");
+            throw new UploadExeption("Upload failed", e);
         }
+    }
 
-        Material material = new Material(materialRequest.getSubject(), url, user);
+    @Override
+    public Long crateMaterial(String subject, StoredObject stored, String originalFilename, Long userId) {
+        User user = userRepository.getReferenceById(userId);
+        SubjectResponse subjectResponse = subjectService.resolveOrCreate(subject);
 
+        Material material = newMaterial(subjectResponse, stored, null, originalFilename, user);
         materialsRepository.save(material);
+        afterMaterialsSaved(subjectResponse, List.of(material), user);
 
         return material.getId();
     }
 
+    /**
+     * Stores up to {@code app.upload.batch.parallelism} files of the batch at
+     * a time on the shared batch pool, then inserts all their rows in one
+     * JDBC batch. A file that fails to store is reported and skipped; the
+     * rest of the batch is still recorded.
+     */
+    @Override
+    public List<BatchUploadResult> crateMaterials(BatchMaterialRequest request, AuthenticatedUser principal) {
+        List<MultipartFile> files = request.getFiles() != null ? request.getFiles() : List.of();
+        if (files.isEmpty()) {
+            throw new InvalidUploadRequestException("Batch contains no files");
+        }
+        if (files.size() > batchMaxFiles) {
+            throw new InvalidUploadRequestException("At most " + batchMaxFiles + " files per batch");
+        }
+
+        User user = userRepository.getReferenceById(principal.getId());
+        SubjectResponse subject = subjectService.resolveOrCreate(request.getSubject());
+
+        List<CompletableFuture<Material>> uploads = storeInParallel(subject, files, user);
+
+        List<Material> stored = new ArrayList<>();
+        String[] errors = new String[files.size()];
+        for (int i = 0; i < files.size(); i++) {
+            try {
+                stored.add(uploads.get(i).join());
+            } catch (CompletionException e) {
+                log.warn("Batch upload of {} failed for user {}", files.get(i).getOriginalFilename(), user.getId(), e.getCause());
+                errors[i] = batchError(e.getCause());
+            }
+        }
+
+        materialsRepository.saveAll(stored);
+        afterMaterialsSaved(subject, stored, user);
+
+        List<BatchUploadResult> results = new ArrayList<>(files.size());
+        Iterator<Material> saved = stored.iterator();
+        for (int i = 0; i < files.size(); i++) {
+            Long id = errors[i] == null ? saved.next().getId() : null;
+            results.add(new BatchUploadResult(files.get(i).getOriginalFilename(), id, errors[i]));
+        }
+        return results;
+    }
+
+    private List<CompletableFuture<Material>> storeInParallel(SubjectResponse subject, List<MultipartFile> files, User user) {
+        Semaphore inFlight = new Semaphore(batchParallelism);
+        List<CompletableFuture<Material>> uploads = new ArrayList<>(files.size());
+
+        for (MultipartFile file : files) {
+            inFlight.acquireUninterruptibly();
+
+            CompletableFuture<Material> upload;
+            try {
+                upload = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return storeContent(subject, file.getOriginalFilename(), file, file.getSize(), user);
+                    } catch (IOException e) {
+                        throw new UploadExeption("Upload failed", e);
+                    }
+                }, batchUploadExecutor);
+            } catch (RejectedExecutionException e) {
+                upload = CompletableFuture.failedFuture(new UploadQueueFullException());
+            }
+            uploads.add(upload.whenComplete((material, error) -> inFlight.release()));
+        }
+        return uploads;
+    }
+
+    private static String batchError(Throwable cause) {
+        if (cause instanceof UploadQueueFullException
+                || cause instanceof UploadCapacityExceededException
+                || cause instanceof BulkheadFullException) {
+            return cause.getMessage();
+        }
+        return "Upload failed";
+    }
+
+    private Long storeMaterial(String subjectName, String originalFilename, InputStreamSource source, long size, User user) throws IOException {
+        SubjectResponse subject = subjectService.resolveOrCreate(subjectName);
+
+        Material material = storeContent(subject, originalFilename, source, size, user);
+        materialsRepository.save(material);
+        afterMaterialsSaved(subject, List.of(material), user);
+
+        return material.getId();
+    }
+
+    /**
+     * Hashes the content, then either reuses an object already stored with the
+     * same SHA-256 or streams the content to storage. The source is read twice,
+     * so it must be backed by local disk (a multipart temp file or staged file).
+     *
+     * @return the material to save, not yet persisted
+     */
+    private Material storeContent(SubjectResponse subject, String originalFilename, InputStreamSource source, long size, User user) throws IOException {
+        String contentHash;
+        try (InputStream in = source.getInputStream()) {
+            contentHash = ContentHasher.sha256(in);
+        }
+
+        StoredObject stored;
+        Optional<Material> existing = materialsRepository.findFirstByContentHash(contentHash);
+
+        if (existing.isPresent()) {
+            log.info("Reusing stored object {} for duplicate upload by user {}", existing.get().getStorageKey(), user.getId());
+            stored = new StoredObject(existing.get().getStorageKey(), existing.get().getUrl());
+        } else {
+            try (UploadThrottle.Permit permit = uploadThrottle.acquire(size);
+                 InputStream in = source.getInputStream()) {
+                stored = storeTimed("document_" + contentHash, originalFilename, in, size);
+            }
+        }
+
+        return newMaterial(subject, stored, contentHash, originalFilename, user);
+    }
+
+    private Material newMaterial(SubjectResponse subject, StoredObject stored, String contentHash, String originalFilename, User user) {
+        Subject subjectRef = subjectRepository.getReferenceById(subject.getId());
+        return new Material(subjectRef, stored.getKey(), stored.getUrl(), contentHash, truncate(originalFilename), user);
+    }
+
+    private void afterMaterialsSaved(SubjectResponse subject, List<Material> materials, User user) {
+        if (materials.isEmpty()) {
+            return;
+        }
+
+        readYourWritesTracker.recordWrite(user.getId());
+        materialCountCache.evict(user.getId());
+        for (Material material : materials) {
+            subjectService.recordMaterialAdded(subject.getId());
+            eventPublisher.publishEvent(new MaterialCreatedEvent(material.getId(), subject.getId(), user.getId()));
+        }
+    }
+
+    /**
+     * Times the storage upload and records its size, tagged by storage
+     * backend and outcome.
+     */
+    private StoredObject storeTimed(String key, String originalFilename, InputStream in, long size) throws IOException {
+        String storage = materialStorage.getClass().getSimpleName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+
+        try {
+            StoredObject stored = materialStorage.store(key, originalFilename, in, size);
+            outcome = "success";
+            return stored;
+        } finally {
+            sample.stop(Timer.builder("storage.upload")
+                    .description("Time to stream an upload to material storage")
+                    .tag("storage", storage)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            DistributionSummary.builder("storage.upload.size")
+                    .description("Size of uploads streamed to material storage")
+                    .baseUnit("bytes")
+                    .tag("storage", storage)
+                    .register(meterRegistry)
+                    .record(size);
+        }
+    }
+
+    /**
+     * Not transactional: a cached page is served without a connection, and
+     * the loader runs the listing in its own read-only transaction.
+     */
     @Override
     public Page<MaterialResponse> getMaterialsBySubject(String subject, Pageable pageable) {
-        return materialsRepository
-                .findBySubjectWithUser(subject, pageable)
-                .map(MaterialResponse::new);
+        Optional<SubjectResponse> known = subjectService.findByName(subject);
+        if (known.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        Integer subjectId = known.get().getId();
+        return subjectPageCache.get(subjectId, pageable,
+                () -> materialsRepository.findResponsesBySubject(subjectId, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<MaterialResponse> getMaterialsByUser(Long userId, Pageable pageable) {
+        return materialsRepository.findResponsesByUser(userId, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<MaterialResponse> scrollMaterialsBySubject(String subjectName, String cursor, int size, boolean withTotal) {
+        Optional<SubjectResponse> known = subjectService.findByName(subjectName);
+        if (known.isEmpty()) {
+            return new CursorPage<>(List.of(), null, 0, withTotal ? 0L : null);
+        }
+
+        SubjectResponse subject = known.get();
+        Limit limit = Limit.of(size + 1);
+        List<MaterialResponse> materials;
+
+        if (cursor == null || cursor.isBlank()) {
+            materials = materialsRepository.findLatestBySubject(subject.getId(), limit);
+        } else {
+            MaterialCursor position = MaterialCursor.decode(cursor);
+            materials = materialsRepository.findBySubjectBefore(subject.getId(), position.getCreatedAt(), position.getId(), limit);
+        }
+
+        Long total = withTotal ? subject.getMaterialCount() : null;
+
+        return toCursorPage(materials, size, total);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<MaterialResponse> scrollMaterialsByUser(Long userId, String cursor, int size, boolean withTotal) {
+        Limit limit = Limit.of(size + 1);
+        List<MaterialResponse> materials;
+
+        if (cursor == null || cursor.isBlank()) {
+            materials = materialsRepository.findLatestByUser(userId, limit);
+        } else {
+            MaterialCursor position = MaterialCursor.decode(cursor);
+            materials = materialsRepository.findByUserBefore(userId, position.getCreatedAt(), position.getId(), limit);
+        }
+
+        Long total = withTotal ? materialCountCache.countByUser(userId, materialsRepository::countByUserId) : null;
+
+        return toCursorPage(materials, size, total);
     }
 
+    /**
+     * The ranked page of ids comes from the full-text index; the materials
+     * themselves are loaded in one query and put back into rank order. The
+     * total is only counted when asked for, like the cursor listings.
+     */
     @Override
-    public Page<MaterialResponse> getMaterialsByUser(String token, Pageable pageable) {
-        String username = jwtProvider.getUsernameFromToken(token);
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ObjectNotFound("Object user not found. Invalid token maybe."));
-
-        return materialsRepository
-                .findByUserWithUser(user, pageable)
-                .map(MaterialResponse::new);
+    @Transactional(readOnly = true)
+    public Slice<MaterialResponse> searchMaterials(String query, String subject, Pageable pageable, boolean withTotal) {
+        if (query == null || query.isBlank()) {
+            return withTotal ? Page.empty(pageable) : new SliceImpl<>(List.of(), pageable, false);
+        }
+
+        Integer subjectFilter = null;
+        if (subject != null && !subject.isBlank()) {
+            Optional<SubjectResponse> known = subjectService.findByName(subject);
+            if (known.isEmpty()) {
+                return withTotal ? Page.empty(pageable) : new SliceImpl<>(List.of(), pageable, false);
+            }
+            subjectFilter = known.get().getId();
+        }
+
+        // "math integrals" finds the Mathematics materials about integrals,
+        // not every material in Mathematics.
+        List<SubjectResponse> matchingSubjects = subjectService.findMatching(query);
+        Set<String> subjectWords = matchingSubjects.stream()
+                .flatMap(matching -> Subject.words(matching.getName()))
+                .collect(Collectors.toSet());
+        String otherTerms = Subject.words(query)
+                .filter(word -> !subjectWords.contains(word))
+                .collect(Collectors.joining(" "));
+        List<Integer> subjectIds = matchingSubjects.isEmpty()
+                ? List.of(NO_SUBJECT)
+                : matchingSubjects.stream().map(SubjectResponse::getId).toList();
+
+        Slice<Long> ids = materialsRepository.searchIds(query.trim(), subjectIds, otherTerms, subjectFilter, pageable);
+
+        Map<Long, MaterialResponse> byId = ids.isEmpty() ? Map.of()
+                : materialsRepository.findResponsesByIdIn(ids.getContent()).stream()
+                        .collect(Collectors.toMap(MaterialResponse::getId, Function.identity()));
+
+        List<MaterialResponse> content = ids.getContent().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        if (!withTotal) {
+            return new SliceImpl<>(content, pageable, ids.hasNext());
+        }
+
+        long total = pageable.getOffset() == 0 && !ids.hasNext()
+                ? ids.getNumberOfElements()
+                : materialsRepository.countSearch(query.trim(), subjectIds, otherTerms, subjectFilter);
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public Optional<ListingVersion> getSubjectListingVersion(String subject) {
+        return subjectService.findByName(subject).map(known -> versionStamps.forSubject(known.getId()));
+    }
+
+    @Override
+    public ListingVersion getUserListingVersion(Long userId) {
+        return versionStamps.forUser(userId);
+    }
+
+    private static String truncate(String originalFilename) {
+        if (originalFilename == null || originalFilename.length() <= MAX_FILENAME_LENGTH) {
+            return originalFilename;
+        }
+        return originalFilename.substring(0, MAX_FILENAME_LENGTH);
+    }
+
+    /**
+     * Materials are fetched with one extra row; its presence tells whether
+     * another page exists without running a COUNT.
+     */
+    private CursorPage<MaterialResponse> toCursorPage(List<MaterialResponse> materials, int size, Long total) {
+        boolean hasNext = materials.size() > size;
+        List<MaterialResponse> content = hasNext ? List.copyOf(materials.subList(0, size)) : materials;
+        String nextCursor = hasNext ? MaterialCursor.after(content.get(content.size() - 1)).encode() : null;
+
+        return new CursorPage<>(content, nextCursor, content.size(), total);
     }
 }
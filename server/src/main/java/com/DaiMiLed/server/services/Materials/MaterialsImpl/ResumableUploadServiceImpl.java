@@ -0,0 +1,282 @@
+package com.DaiMiLed.server.services.Materials.MaterialsImpl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.DaiMiLed.server.dtos.Materials.ResumableUploadStatus;
+import com.DaiMiLed.server.exceptions.InvalidSubjectException;
+import com.DaiMiLed.server.exceptions.InvalidUploadRequestException;
+import com.DaiMiLed.server.exceptions.ObjectNotFound;
+import com.DaiMiLed.server.exceptions.UploadConflictException;
+import com.DaiMiLed.server.exceptions.UploadExeption;
+import com.DaiMiLed.server.exceptions.UploadTooLargeException;
+import com.DaiMiLed.server.jwt.AuthenticatedUser;
+import com.DaiMiLed.server.models.UploadSession;
+import com.DaiMiLed.server.repositories.UploadSessionRepository;
+import com.DaiMiLed.server.services.Materials.MaterialsService;
+import com.DaiMiLed.server.services.Materials.ResumableUploadService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the session offsets in the database and the received bytes in one
+ * file per session under {@code app.upload.resumable.dir}. Chunks are
+ * copied to that file through a small buffer, and the finished file is
+ * handed to {@link MaterialsService} like a staged upload, so the whole
+ * upload is never held in heap. A file lock keeps two requests from
+ * writing the same upload at once. The file only ever grows from its end, so
+ * its bytes are always a prefix of the upload; a request on a node whose file
+ * is shorter than the offset, e.g. another node or after tmp was cleared,
+ * rewinds the session to that prefix instead of leaving a hole.
+ */
+@Slf4j
+@Service
+public class ResumableUploadServiceImpl implements ResumableUploadService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int PURGE_BATCH_SIZE = 100;
+
+    private final UploadSessionRepository uploadSessionRepository;
+
+    private final MaterialsService materialsService;
+
+    private final Path uploadDir;
+
+    private final DataSize maxSize;
+
+    private final Duration expiry;
+
+    public ResumableUploadServiceImpl(
+            UploadSessionRepository uploadSessionRepository,
+            MaterialsService materialsService,
+            @Value("${app.upload.resumable.dir}") Path uploadDir,
+            @Value("${app.upload.resumable.max-size}") DataSize maxSize,
+            @Value("${app.upload.resumable.expiry}") Duration expiry) throws IOException {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.materialsService = materialsService;
+        this.uploadDir = Files.createDirectories(uploadDir);
+        this.maxSize = maxSize;
+        this.expiry = expiry;
+    }
+
+    @Override
+    public ResumableUploadStatus create(long uploadLength, String metadata, AuthenticatedUser principal) {
+        if (uploadLength <= 0) {
+            throw new InvalidUploadRequestException("Upload-Length must be positive");
+        }
+        if (uploadLength > maxSize.toBytes()) {
+            throw new UploadTooLargeException(maxSize);
+        }
+
+        Map<String, String> values = parseMetadata(metadata);
+        String subject = values.get("subject");
+        if (subject == null || subject.isBlank()) {
+            throw new InvalidSubjectException();
+        }
+
+        UploadSession session = uploadSessionRepository.save(
+                new UploadSession(principal.getId(), subject, values.get("filename"), uploadLength));
+        log.info("Resumable upload {} created for user {} ({} bytes)", session.getId(), principal.getId(), uploadLength);
+
+        return toStatus(session);
+    }
+
+    @Override
+    public ResumableUploadStatus getStatus(UUID id, AuthenticatedUser principal) {
+        return toStatus(find(id, principal));
+    }
+
+    @Override
+    public ResumableUploadStatus append(UUID id, long offset, InputStream chunk, AuthenticatedUser principal) {
+        UploadSession session = find(id, principal);
+        if (session.getMaterialId() != null) {
+            return toStatus(session);
+        }
+        if (offset != session.getUploadOffset()) {
+            throw new UploadConflictException("Upload offset is " + session.getUploadOffset());
+        }
+
+        try (FileChannel channel = FileChannel.open(file(id), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock lock = channel.tryLock()) {
+            if (lock == null) {
+                throw new UploadConflictException("Upload is being written by another request");
+            }
+            checkReceived(session, offset, channel);
+
+            long newOffset = write(session, offset, chunk, channel);
+
+            if (newOffset == session.getUploadLength()) {
+                complete(session);
+            }
+        } catch (IOException e) {
+            throw new UploadExeption("Could not write upload " + id, e);
+        }
+
+        return toStatus(find(id, principal));
+    }
+
+    /**
+     * Makes sure the upload file ends exactly at {@code offset}. Bytes past
+     * it were written without their offset being recorded and are dropped.
+     * A shorter file rewinds the session to what the file holds and answers
+     * 409, so the client asks for the offset again and resends from there.
+     */
+    private void checkReceived(UploadSession session, long offset, FileChannel channel) throws IOException {
+        long received = channel.size();
+        if (received > offset) {
+            channel.truncate(offset);
+        } else if (received < offset) {
+            uploadSessionRepository.rewindOffset(session.getId(), offset, received, Instant.now());
+            log.warn("Resumable upload {} has {} of {} bytes on this node, rewound", session.getId(), received, offset);
+            throw new UploadConflictException("Upload offset is " + received);
+        }
+    }
+
+    /**
+     * Copies the chunk into the upload file at {@code offset} and records the
+     * new offset. When the client drops mid-chunk, the bytes that did arrive
+     * are kept, so the next attempt resumes from there.
+     */
+    private long write(UploadSession session, long offset, InputStream chunk, FileChannel channel) throws IOException {
+        long remaining = session.getUploadLength() - offset;
+        long written = 0;
+        IOException interrupted = null;
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try {
+            int read;
+            while (written < remaining
+                    && (read = chunk.read(buffer, 0, (int) Math.min(buffer.length, remaining - written))) != -1) {
+                ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, read);
+                while (bytes.hasRemaining()) {
+                    written += channel.write(bytes, offset + written);
+                }
+            }
+        } catch (IOException e) {
+            interrupted = e;
+        }
+
+        if (interrupted == null && written == remaining && chunk.read() != -1) {
+            throw new InvalidUploadRequestException("Chunk exceeds Upload-Length");
+        }
+
+        channel.force(false);
+        long newOffset = offset + written;
+        if (written > 0 && uploadSessionRepository.advanceOffset(session.getId(), offset, newOffset, Instant.now()) == 0) {
+            throw new UploadConflictException("Upload offset changed while writing");
+        }
+
+        if (interrupted != null) {
+            log.info("Resumable upload {} interrupted at offset {}", session.getId(), newOffset);
+            throw interrupted;
+        }
+        return newOffset;
+    }
+
+    /**
+     * Runs while the upload file is locked, so only one request turns the
+     * finished upload into a material. If storing fails the session stays
+     * complete without a material, and an empty PATCH at the final offset
+     * retries it.
+     */
+    private void complete(UploadSession session) {
+        Path file = file(session.getId());
+        Long materialId = materialsService.crateMaterial(
+                session.getSubject(), file, session.getOriginalFilename(), session.getUserId());
+
+        uploadSessionRepository.markCompleted(session.getId(), materialId, Instant.now());
+        deleteQuietly(file);
+        log.info("Resumable upload {} completed as material {}", session.getId(), materialId);
+    }
+
+    /**
+     * Drops sessions that saw no activity within the expiry window, along with
+     * their partial files.
+     */
+    @Scheduled(fixedDelayString = "${app.upload.resumable.purge-interval-ms}")
+    public void purgeExpired() {
+        List<UUID> expired = uploadSessionRepository.findIdsUpdatedBefore(
+                Instant.now().minus(expiry), Limit.of(PURGE_BATCH_SIZE));
+
+        for (UUID id : expired) {
+            deleteQuietly(file(id));
+            uploadSessionRepository.deleteById(id);
+        }
+
+        if (!expired.isEmpty()) {
+            log.info("Purged {} expired resumable uploads", expired.size());
+        }
+    }
+
+    private UploadSession find(UUID id, AuthenticatedUser principal) {
+        return uploadSessionRepository.findById(id)
+                .filter(session -> session.getUserId().equals(principal.getId()))
+                .orElseThrow(() -> new ObjectNotFound("Upload " + id + " not found."));
+    }
+
+    private ResumableUploadStatus toStatus(UploadSession session) {
+        return new ResumableUploadStatus(
+                session.getId(),
+                session.getUploadOffset(),
+                session.getUploadLength(),
+                session.getUpdatedAt().plus(expiry),
+                session.getMaterialId());
+    }
+
+    private Path file(UUID id) {
+        return uploadDir.resolve(id + ".part");
+    }
+
+    /**
+     * Parses tus Upload-Metadata: comma-separated pairs of a key and a
+     * Base64-encoded value.
+     */
+    static Map<String, String> parseMetadata(String metadata) {
+        Map<String, String> values = new HashMap<>();
+        if (metadata == null || metadata.isBlank()) {
+            return values;
+        }
+
+        for (String pair : metadata.split(",")) {
+            String[] parts = pair.trim().split(" ", 2);
+            try {
+                String value = parts.length > 1
+                        ? new String(Base64.getDecoder().decode(parts[1].trim()), StandardCharsets.UTF_8)
+                        : "";
+                values.put(parts[0], value);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidUploadRequestException("Upload-Metadata value for " + parts[0] + " is not Base64");
+            }
+        }
+        return values;
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete resumable upload file {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.DaiMiLed.server.services.Materials.MaterialsImpl;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.DaiMiLed.server.caching.CachedPage;
+import com.DaiMiLed.server.caching.SubjectPageCacheTier;
+import com.DaiMiLed.server.caching.SubjectPageKey;
+import com.DaiMiLed.server.dtos.Materials.MaterialResponse;
+import com.DaiMiLed.server.events.MaterialCreatedEvent;
+import com.DaiMiLed.server.events.MaterialUpdatedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caches the first pages of each subject listing, so popular subjects skip
+ * both the listing query and its COUNT. A subject's pages are dropped after
+ * a material in it is committed or updated.
+ *
+ * A per-subject generation guards against a slow load putting a page that
+ * was read before an invalidation back into the cache.
+ */
+@Component
+public class SubjectPageCache {
+
+    private final Cache<SubjectPageKey, CachedPage> pages;
+
+    private final Map<Integer, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final SubjectPageCacheTier distributedTier;
+
+    private final int maxCachedPages;
+
+    public SubjectPageCache(
+            SubjectPageCacheTier distributedTier,
+            @Value("${app.material.page-cache.max-size}") long maxSize,
+            @Value("${app.material.page-cache.ttl}") Duration ttl,
+            @Value("${app.material.page-cache.max-pages}") int maxCachedPages,
+            MeterRegistry meterRegistry) {
+        this.distributedTier = distributedTier;
+        this.maxCachedPages = maxCachedPages;
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "materials.subject-pages");
+    }
+
+    public Page<MaterialResponse> get(Integer subjectId, Pageable pageable, Supplier<Page<MaterialResponse>> loader) {
+        if (pageable.getPageNumber() >= maxCachedPages) {
+            return loader.get();
+        }
+
+        SubjectPageKey key = new SubjectPageKey(subjectId, pageable);
+        CachedPage cached = pages.getIfPresent(key);
+        if (cached != null) {
+            return cached.toPage(pageable);
+        }
+
+        long generation = generation(subjectId).get();
+
+        Optional<CachedPage> shared = distributedTier.get(key);
+        if (shared.isPresent()) {
+            putIfCurrent(key, shared.get(), generation);
+            return shared.get().toPage(pageable);
+        }
+
+        Page<MaterialResponse> loaded = loader.get();
+        CachedPage page = new CachedPage(loaded);
+        if (putIfCurrent(key, page, generation)) {
+            distributedTier.put(key, page);
+        }
+        return loaded;
+    }
+
+    public void invalidateSubject(Integer subjectId) {
+        generation(subjectId).incrementAndGet();
+        pages.asMap().keySet().removeIf(key -> key.getSubjectId().equals(subjectId));
+        distributedTier.invalidateSubject(subjectId);
+    }
+
+    public CacheStats stats() {
+        return pages.stats();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMaterialCreated(MaterialCreatedEvent event) {
+        invalidateSubject(event.getSubjectId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMaterialUpdated(MaterialUpdatedEvent event) {
+        invalidateSubject(event.getSubjectId());
+    }
+
+    /**
+     * The generation is checked again after the put, so an invalidation that
+     * runs between the check and the put cannot leave a stale page behind.
+     */
+    private boolean putIfCurrent(SubjectPageKey key, CachedPage page, long generation) {
+        AtomicLong current = generation(key.getSubjectId());
+        if (current.get() != generation) {
+            return false;
+        }
+
+        pages.put(key, page);
+        if (current.get() != generation) {
+            pages.invalidate(key);
+            return false;
+        }
+        return true;
+    }
+
+    private AtomicLong generation(Integer subjectId) {
+        return generations.computeIfAbsent(subjectId, id -> new AtomicLong());
+    }
+}
@@ -0,0 +1,123 @@
+package com.DaiMiLed.server.services.Materials.MaterialsImpl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.DaiMiLed.server.dtos.Materials.MaterialRequest;
+import com.DaiMiLed.server.dtos.Materials.UploadJobResponse;
+import com.DaiMiLed.server.exceptions.ObjectNotFound;
+import com.DaiMiLed.server.exceptions.UploadExeption;
+import com.DaiMiLed.server.exceptions.UploadQueueFullException;
+import com.DaiMiLed.server.jwt.AuthenticatedUser;
+import com.DaiMiLed.server.services.Materials.MaterialsService;
+import com.DaiMiLed.server.services.Materials.UploadJobService;
+import com.DaiMiLed.server.uploads.UploadJob;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class UploadJobServiceImpl implements UploadJobService {
+
+    private final MaterialsService materialsService;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Path stagingDir;
+
+    private final Duration retention;
+
+    private final Map<UUID, UploadJob> jobs = new ConcurrentHashMap<>();
+
+    public UploadJobServiceImpl(
+            MaterialsService materialsService,
+            @Qualifier("uploadJobExecutor") ThreadPoolExecutor executor,
+            @Value("${app.upload.staging-dir}") Path stagingDir,
+            @Value("${app.upload.jobs.retention}") Duration retention) throws IOException {
+        this.materialsService = materialsService;
+        this.executor = executor;
+        this.stagingDir = Files.createDirectories(stagingDir);
+        this.retention = retention;
+    }
+
+    @Override
+    public UploadJobResponse submit(MaterialRequest materialRequest, AuthenticatedUser principal) {
+        purgeFinishedJobs();
+
+        Path staged = stage(materialRequest);
+        UploadJob job = new UploadJob(
+                principal.getId(), materialRequest.getSubject(), staged, materialRequest.getFile().getOriginalFilename());
+        jobs.put(job.getId(), job);
+
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            deleteQuietly(staged);
+            log.warn("Upload job rejected for user {}, queue is full", principal.getId());
+            throw new UploadQueueFullException();
+        }
+
+        return new UploadJobResponse(job);
+    }
+
+    @Override
+    public UploadJobResponse getStatus(UUID jobId, AuthenticatedUser principal) {
+        UploadJob job = jobs.get(jobId);
+
+        if (job == null || !job.getUserId().equals(principal.getId())) {
+            throw new ObjectNotFound("Upload job " + jobId + " not found.");
+        }
+
+        return new UploadJobResponse(job);
+    }
+
+    private void run(UploadJob job) {
+        job.markRunning();
+        try {
+            Long materialId = materialsService.crateMaterial(
+                    job.getSubject(), job.getStagedFile(), job.getOriginalFilename(), job.getUserId());
+            job.markSucceeded(materialId);
+        } catch (RuntimeException e) {
+            log.error("Upload job {} failed", job.getId(), e);
+            job.markFailed(e.getMessage());
+        } finally {
+            deleteQuietly(job.getStagedFile());
+        }
+    }
+
+    private Path stage(MaterialRequest materialRequest) {
+        try {
+            Path staged = Files.createTempFile(stagingDir, "upload-", ".part");
+            materialRequest.getFile().transferTo(staged);
+            return staged;
+        } catch (IOException e) {
+            throw new UploadExeption("Staging upload failed", e);
+        }
+    }
+
+    private void purgeFinishedJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete staged upload {}", path, e);
+        }
+    }
+}
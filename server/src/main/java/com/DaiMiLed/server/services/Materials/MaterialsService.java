@@ -1,13 +1,31 @@
 package com.DaiMiLed.server.services.Materials;
 
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
 
+import com.DaiMiLed.server.dtos.Materials.BatchMaterialRequest;
+import com.DaiMiLed.server.dtos.Materials.BatchUploadResult;
+import com.DaiMiLed.server.dtos.Materials.CursorPage;
+import com.DaiMiLed.server.dtos.Materials.ListingVersion;
 import com.DaiMiLed.server.dtos.Materials.MaterialResponse;
 import com.DaiMiLed.server.dtos.Materials.MaterialRequest;
+import com.DaiMiLed.server.jwt.AuthenticatedUser;
+import com.DaiMiLed.server.storage.StoredObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface MaterialsService {
-    Long crateMaterial(MaterialRequest materialRequest, String token);
+    Long crateMaterial(MaterialRequest materialRequest, AuthenticatedUser principal);
+    Long crateMaterial(String subject, Path stagedFile, String originalFilename, Long userId);
+    Long crateMaterial(String subject, StoredObject stored, String originalFilename, Long userId);
+    List<BatchUploadResult> crateMaterials(BatchMaterialRequest request, AuthenticatedUser principal);
     Page<MaterialResponse> getMaterialsBySubject(String subject, Pageable pageable);
-    Page<MaterialResponse> getMaterialsByUser(String token, Pageable pageable);
+    Page<MaterialResponse> getMaterialsByUser(Long userId, Pageable pageable);
+    CursorPage<MaterialResponse> scrollMaterialsBySubject(String subject, String cursor, int size, boolean withTotal);
+    CursorPage<MaterialResponse> scrollMaterialsByUser(Long userId, String cursor, int size, boolean withTotal);
+    Slice<MaterialResponse> searchMaterials(String query, String subject, Pageable pageable, boolean withTotal);
+    Optional<ListingVersion> getSubjectListingVersion(String subject);
+    ListingVersion getUserListingVersion(Long userId);
 }
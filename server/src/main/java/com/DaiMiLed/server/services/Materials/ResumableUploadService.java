@@ -0,0 +1,18 @@
+package com.DaiMiLed.server.services.Materials;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+import com.DaiMiLed.server.dtos.Materials.ResumableUploadStatus;
+import com.DaiMiLed.server.jwt.AuthenticatedUser;
+
+/**
+ * Resumable uploads following the tus protocol: create a session, append
+ * chunks at the current offset, and ask for the offset after a failure.
+ * The material is created when the last byte arrives.
+ */
+public interface ResumableUploadService {
+    ResumableUploadStatus create(long uploadLength, String metadata, AuthenticatedUser principal);
+    ResumableUploadStatus getStatus(UUID id, AuthenticatedUser principal);
+    ResumableUploadStatus append(UUID id, long offset, InputStream chunk, AuthenticatedUser principal);
+}
@@ -0,0 +1,12 @@
+package com.DaiMiLed.server.services.Materials;
+
+import java.util.UUID;
+
+import com.DaiMiLed.server.dtos.Materials.MaterialRequest;
+import com.DaiMiLed.server.dtos.Materials.UploadJobResponse;
+import com.DaiMiLed.server.jwt.AuthenticatedUser;
+
+public interface UploadJobService {
+    UploadJobResponse submit(MaterialRequest materialRequest, AuthenticatedUser principal);
+    UploadJobResponse getStatus(UUID jobId, AuthenticatedUser principal);
+}
@@ -0,0 +1,46 @@
+package com.DaiMiLed.server.services;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.DaiMiLed.server.models.Role;
+import com.DaiMiLed.server.models.RoleName;
+import com.DaiMiLed.server.repositories.RoleRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory copy of the role table. Roles are fixed and seeded at startup
+ * by DataInitializer, so registration never has to query them. A role that
+ * is not loaded yet (a request racing the initializer) is read once from
+ * the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoleCatalog {
+
+    private final RoleRepository roleRepository;
+
+    private final Map<RoleName, Role> roles = new ConcurrentHashMap<>();
+
+    public void register(Role role) {
+        roles.put(role.getName(), role);
+    }
+
+    public Optional<Role> find(RoleName name) {
+        Role role = roles.get(name);
+        if (role != null) {
+            return Optional.of(role);
+        }
+
+        log.debug("Role {} not cached yet, loading it", name);
+        Optional<Role> loaded = roleRepository.findByName(name);
+        loaded.ifPresent(this::register);
+        return loaded;
+    }
+}
@@ -0,0 +1,14 @@
+package com.DaiMiLed.server.services.Subjects;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.DaiMiLed.server.dtos.Subjects.SubjectResponse;
+
+public interface SubjectService {
+    List<SubjectResponse> getSubjects();
+    Optional<SubjectResponse> findByName(String name);
+    List<SubjectResponse> findMatching(String query);
+    SubjectResponse resolveOrCreate(String name);
+    void recordMaterialAdded(Integer subjectId);
+}
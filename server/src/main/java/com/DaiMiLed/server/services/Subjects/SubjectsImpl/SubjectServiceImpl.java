@@ -0,0 +1,217 @@
+package com.DaiMiLed.server.services.Subjects.SubjectsImpl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.DaiMiLed.server.dtos.Subjects.SubjectResponse;
+import com.DaiMiLed.server.exceptions.InvalidSubjectException;
+import com.DaiMiLed.server.models.Subject;
+import com.DaiMiLed.server.repositories.SubjectRepository;
+import com.DaiMiLed.server.services.Subjects.SubjectService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves subjects from an in-memory catalog (id, name and material count).
+ * The catalog is rebuilt from the database periodically and updated in
+ * place when subjects or materials are added on this node. A name the
+ * catalog does not know yet is looked up in the database before it is
+ * treated as missing, and a name that is missing there too is remembered
+ * for a short while so repeated requests for it stay off the database.
+ */
+@Slf4j
+@Service
+public class SubjectServiceImpl implements SubjectService {
+
+    private final SubjectRepository subjectRepository;
+
+    /**
+     * Normalized names the database did not know either. A subject created
+     * on another node in the meantime stays hidden here until the entry
+     * expires, which is kept no longer than the refresh interval.
+     */
+    private final Cache<String, Boolean> unknownNames;
+
+    private final Object updateLock = new Object();
+
+    private volatile Catalog catalog = new Catalog();
+
+    private List<Consumer<Catalog>> updatesDuringRefresh;
+
+    public SubjectServiceImpl(
+            SubjectRepository subjectRepository,
+            @Value("${app.subjects.unknown-names.max-size}") long unknownNamesMaxSize,
+            @Value("${app.subjects.unknown-names.ttl}") Duration unknownNamesTtl) {
+        this.subjectRepository = subjectRepository;
+        this.unknownNames = Caffeine.newBuilder()
+                .maximumSize(unknownNamesMaxSize)
+                .expireAfterWrite(unknownNamesTtl)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.subjects.refresh-interval-ms}", initialDelayString = "${app.subjects.refresh-interval-ms}")
+    public synchronized void refresh() {
+        synchronized (updateLock) {
+            updatesDuringRefresh = new ArrayList<>();
+        }
+
+        Catalog fresh = new Catalog();
+        try {
+            subjectRepository.findAll().forEach(subject -> fresh.put(subject.getId(), subject.getName(), subject.getNormalizedName()));
+            subjectRepository.countMaterialsPerSubject()
+                    .forEach(count -> fresh.counts.computeIfAbsent(count.getSubjectId(), id -> new AtomicLong())
+                            .set(count.getMaterialCount()));
+        } catch (RuntimeException e) {
+            synchronized (updateLock) {
+                updatesDuringRefresh = null;
+            }
+            throw e;
+        }
+
+        synchronized (updateLock) {
+            // Replays what this node added while the snapshot was loading; a
+            // material the snapshot already included is counted twice until
+            // the next refresh.
+            updatesDuringRefresh.forEach(update -> update.accept(fresh));
+            updatesDuringRefresh = null;
+            catalog = fresh;
+        }
+        log.debug("Subject catalog refreshed with {} subjects", fresh.names.size());
+    }
+
+    @Override
+    public List<SubjectResponse> getSubjects() {
+        Catalog current = catalog;
+        return current.names.keySet().stream()
+                .map(current::toResponse)
+                .sorted(Comparator.comparing(SubjectResponse::getName, String.CASE_INSENSITIVE_ORDER))
+                .toList();
+    }
+
+    @Override
+    public Optional<SubjectResponse> findByName(String name) {
+        if (name == null || name.isBlank()) {
+            return Optional.empty();
+        }
+
+        String normalizedName = Subject.normalize(name);
+        Catalog current = catalog;
+        Integer id = current.idsByNormalizedName.get(normalizedName);
+        if (id != null) {
+            return Optional.of(current.toResponse(id));
+        }
+
+        if (unknownNames.getIfPresent(normalizedName) != null) {
+            return Optional.empty();
+        }
+
+        // Possibly created on another node since the last refresh.
+        Optional<SubjectResponse> subject = subjectRepository.findByNormalizedName(normalizedName).map(this::remember);
+        if (subject.isEmpty()) {
+            unknownNames.put(normalizedName, Boolean.TRUE);
+        }
+        return subject;
+    }
+
+    /**
+     * Subjects whose every word appears in the query, e.g. "math homework"
+     * matches "Math".
+     */
+    @Override
+    public List<SubjectResponse> findMatching(String query) {
+        Set<String> terms = Subject.words(query).collect(Collectors.toSet());
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        Catalog current = catalog;
+        return current.idsByNormalizedName.entrySet().stream()
+                .filter(entry -> Subject.words(entry.getKey()).allMatch(terms::contains))
+                .map(entry -> current.toResponse(entry.getValue()))
+                .toList();
+    }
+
+    @Override
+    public SubjectResponse resolveOrCreate(String name) {
+        if (name == null || name.isBlank()) {
+            throw new InvalidSubjectException();
+        }
+
+        Optional<SubjectResponse> cached = findByName(name);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        return remember(create(name, Subject.normalize(name)));
+    }
+
+    @Override
+    public void recordMaterialAdded(Integer subjectId) {
+        update(current -> current.counts.computeIfAbsent(subjectId, id -> new AtomicLong()).incrementAndGet());
+    }
+
+    private SubjectResponse remember(Subject subject) {
+        unknownNames.invalidate(subject.getNormalizedName());
+        update(current -> current.put(subject.getId(), subject.getName(), subject.getNormalizedName()));
+        return catalog.toResponse(subject.getId());
+    }
+
+    /**
+     * Applies an update to the live catalog and, while a refresh is loading,
+     * records it so it is replayed onto the catalog that replaces this one.
+     */
+    private void update(Consumer<Catalog> update) {
+        synchronized (updateLock) {
+            update.accept(catalog);
+            if (updatesDuringRefresh != null) {
+                updatesDuringRefresh.add(update);
+            }
+        }
+    }
+
+    private Subject create(String name, String normalizedName) {
+        try {
+            Subject subject = subjectRepository.saveAndFlush(new Subject(name));
+            log.info("Created subject {}", subject.getName());
+            return subject;
+        } catch (DataIntegrityViolationException e) {
+            // Another request or node created it first.
+            return subjectRepository.findByNormalizedName(normalizedName).orElseThrow(() -> e);
+        }
+    }
+
+    private static final class Catalog {
+        private final Map<Integer, String> names = new ConcurrentHashMap<>();
+        private final Map<String, Integer> idsByNormalizedName = new ConcurrentHashMap<>();
+        private final Map<Integer, AtomicLong> counts = new ConcurrentHashMap<>();
+
+        private void put(Integer id, String name, String normalizedName) {
+            names.put(id, name);
+            idsByNormalizedName.put(normalizedName, id);
+        }
+
+        private SubjectResponse toResponse(Integer id) {
+            AtomicLong count = counts.get(id);
+            return new SubjectResponse(id, names.get(id), count != null ? count.get() : 0);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.DaiMiLed.server.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLConnection;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.DaiMiLed.server.bulkheads.Bulkhead;
+import com.DaiMiLed.server.bulkheads.PermitReleasingInputStream;
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Stores materials in Cloudinary using the chunked upload API, so only one
+ * chunk per upload is ever held in memory. Every call, including reading an
+ * opened object, holds a slot of the storage bulkhead.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryMaterialStorage implements MaterialStorage {
+
+    private static final String FOLDER = "Materials/documents";
+
+    private static final int OPEN_TIMEOUT_MS = 10_000;
+
+    private final Cloudinary cloudinary;
+
+    @Qualifier("storageBulkhead")
+    private final Bulkhead storageBulkhead;
+
+    @Value("${app.upload.chunk-size}")
+    private DataSize chunkSize;
+
+    @Override
+    public StoredObject store(String key, String originalFilename, InputStream in, long size) throws IOException {
+        try (Bulkhead.Permit permit = storageBulkhead.acquire()) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> uploadResult = cloudinary.uploader().uploadLarge(
+                    in,
+                    ObjectUtils.asMap(
+                            "folder", FOLDER,
+                            "public_id", key,
+                            "resource_type", "auto",
+                            "overwrite", true),
+                    (int) chunkSize.toBytes());
+
+            return new StoredObject((String) uploadResult.get("public_id"), (String) uploadResult.get("secure_url"));
+        }
+    }
+
+    @Override
+    public InputStream open(StoredObject object) throws IOException {
+        Bulkhead.Permit permit = storageBulkhead.acquire();
+        try {
+            URLConnection connection = URI.create(object.getUrl()).toURL().openConnection();
+            connection.setConnectTimeout(OPEN_TIMEOUT_MS);
+            connection.setReadTimeout(OPEN_TIMEOUT_MS);
+            return new PermitReleasingInputStream(connection.getInputStream(), permit);
+        } catch (IOException | RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.DaiMiLed.server.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.DaiMiLed.server.bulkheads.Bulkhead;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stand-in for Cloudinary in load tests. Uploaded content is read and
+ * discarded after a configurable delay, and a configurable share of
+ * uploads fails, so the upload path can be exercised without external
+ * calls. Calls hold a slot of the storage bulkhead, as Cloudinary calls do.
+ * Never use it outside load testing: nothing is kept.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "fake")
+public class FakeMaterialStorage implements MaterialStorage {
+
+    private final Duration latency;
+
+    private final Duration jitter;
+
+    private final double failureRate;
+
+    private final String baseUrl;
+
+    private final Bulkhead storageBulkhead;
+
+    public FakeMaterialStorage(
+            @Value("${app.storage.fake.latency}") Duration latency,
+            @Value("${app.storage.fake.jitter}") Duration jitter,
+            @Value("${app.storage.fake.failure-rate}") double failureRate,
+            @Value("${app.storage.fake.base-url}") String baseUrl,
+            @Qualifier("storageBulkhead") Bulkhead storageBulkhead) {
+        this.latency = latency;
+        this.jitter = jitter;
+        this.failureRate = failureRate;
+        this.baseUrl = StringUtils.trimTrailingCharacter(baseUrl, '/');
+        this.storageBulkhead = storageBulkhead;
+        log.warn("Fake material storage is active; uploaded content is discarded");
+    }
+
+    @Override
+    public StoredObject store(String key, String originalFilename, InputStream in, long size) throws IOException {
+        try (Bulkhead.Permit permit = storageBulkhead.acquire()) {
+            in.transferTo(OutputStream.nullOutputStream());
+            simulateRoundTrip();
+            return new StoredObject(key, baseUrl + "/" + key);
+        }
+    }
+
+    @Override
+    public InputStream open(StoredObject object) throws IOException {
+        try (Bulkhead.Permit permit = storageBulkhead.acquire()) {
+            simulateRoundTrip();
+            return InputStream.nullInputStream();
+        }
+    }
+
+    private void simulateRoundTrip() throws IOException {
+        long delayMs = latency.toMillis();
+        if (!jitter.isZero()) {
+            delayMs += ThreadLocalRandom.current().nextLong(jitter.toMillis() + 1);
+        }
+
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted during simulated storage call", e);
+        }
+
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            throw new IOException("Injected storage failure");
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.DaiMiLed.server.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.DaiMiLed.server.exceptions.ObjectNotFound;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stores materials on the local filesystem. Files are written through a
+ * {@link FileChannel} and served back by the zero-copy download endpoint.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local")
+public class LocalMaterialStorage implements MaterialStorage {
+
+    public static final String DOWNLOAD_PATH = "/api/material/files/";
+
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9_-]+(\\.[A-Za-z0-9]{1,10})?");
+
+    private final Path root;
+
+    private final String baseUrl;
+
+    private final long chunkSize;
+
+    public LocalMaterialStorage(
+            @Value("${app.storage.local.root}") Path root,
+            @Value("${app.storage.local.base-url}") String baseUrl,
+            @Value("${app.upload.chunk-size}") DataSize chunkSize) throws IOException {
+        this.root = Files.createDirectories(root).toAbsolutePath().normalize();
+        this.baseUrl = StringUtils.trimTrailingCharacter(baseUrl, '/');
+        this.chunkSize = chunkSize.toBytes();
+        log.info("Local material storage rooted at {}", this.root);
+    }
+
+    @Override
+    public StoredObject store(String key, String originalFilename, InputStream in, long size) throws IOException {
+        String extension = StringUtils.getFilenameExtension(originalFilename);
+        String name = extension != null ? key + "." + extension.toLowerCase() : key;
+
+        if (!SAFE_NAME.matcher(name).matches()) {
+            name = key;
+        }
+
+        Path target = root.resolve(name);
+        Path temp = Files.createTempFile(root, name, ".part");
+
+        try (ReadableByteChannel source = Channels.newChannel(in);
+             FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            long position = 0;
+            long written;
+            while ((written = out.transferFrom(source, position, chunkSize)) > 0) {
+                position += written;
+            }
+            out.force(false);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        return new StoredObject(name, baseUrl + DOWNLOAD_PATH + name);
+    }
+
+    @Override
+    public InputStream open(StoredObject object) throws IOException {
+        return Files.newInputStream(resolve(object.getKey()));
+    }
+
+    /**
+     * Resolves a stored object name to its file, rejecting anything that
+     * could escape the storage root.
+     *
+     * @param name object name as returned in {@link StoredObject#getKey()}
+     * @return path of the stored file
+     */
+    public Path resolve(String name) {
+        if (name == null || !SAFE_NAME.matcher(name).matches()) {
+            throw new ObjectNotFound("File " + name + " not found.");
+        }
+
+        Path file = root.resolve(name);
+        if (!Files.isRegularFile(file)) {
+            throw new ObjectNotFound("File " + name + " not found.");
+        }
+
+        return file;
+    }
+}
@@ -0,0 +1,31 @@
+package com.DaiMiLed.server.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Backend that holds the bytes of uploaded materials. The active
+ * implementation is selected with the {@code app.storage.type} property.
+ */
+public interface MaterialStorage {
+
+    /**
+     * Streams the given content into the backend. Implementations must not
+     * buffer the whole stream in memory.
+     *
+     * @param key unique name for the object, without extension
+     * @param originalFilename name the client uploaded the file with, may be null
+     * @param in content to store; the caller closes it
+     * @param size content length in bytes
+     * @return the stored object's key and public URL
+     */
+    StoredObject store(String key, String originalFilename, InputStream in, long size) throws IOException;
+
+    /**
+     * Opens a previously stored object for reading.
+     *
+     * @param object key and URL returned by {@link #store}
+     * @return content of the object; the caller closes it
+     */
+    InputStream open(StoredObject object) throws IOException;
+}
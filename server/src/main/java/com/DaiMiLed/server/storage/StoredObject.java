@@ -0,0 +1,14 @@
+package com.DaiMiLed.server.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Location of a file written through a {@link MaterialStorage}.
+ */
+@Getter
+@AllArgsConstructor
+public class StoredObject {
+    private final String key;
+    private final String url;
+}
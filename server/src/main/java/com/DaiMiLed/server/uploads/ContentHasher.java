@@ -0,0 +1,41 @@
+package com.DaiMiLed.server.uploads;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Computes content digests of uploads with a small fixed buffer.
+ */
+public final class ContentHasher {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private ContentHasher() {
+    }
+
+    /**
+     * Reads the stream to the end and returns its SHA-256 as lowercase hex.
+     *
+     * @param in content to hash; the caller closes it
+     * @return 64 character hex digest
+     */
+    public static String sha256(InputStream in) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,53 @@
+package com.DaiMiLed.server.uploads;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+import lombok.Getter;
+
+/**
+ * In-memory record of an asynchronous upload. Jobs only live on the node that
+ * accepted the file, together with the staged copy of that file.
+ */
+@Getter
+public class UploadJob {
+    private final UUID id = UUID.randomUUID();
+    private final Long userId;
+    private final String subject;
+    private final Path stagedFile;
+    private final String originalFilename;
+    private final Instant createdAt = Instant.now();
+
+    private volatile UploadJobStatus status = UploadJobStatus.QUEUED;
+    private volatile Long materialId;
+    private volatile String error;
+    private volatile Instant finishedAt;
+
+    public UploadJob(Long userId, String subject, Path stagedFile, String originalFilename) {
+        this.userId = userId;
+        this.subject = subject;
+        this.stagedFile = stagedFile;
+        this.originalFilename = originalFilename;
+    }
+
+    public void markRunning() {
+        this.status = UploadJobStatus.RUNNING;
+    }
+
+    public void markSucceeded(Long materialId) {
+        this.materialId = materialId;
+        this.finishedAt = Instant.now();
+        this.status = UploadJobStatus.SUCCEEDED;
+    }
+
+    public void markFailed(String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.status = UploadJobStatus.FAILED;
+    }
+
+    public boolean isFinished() {
+        return finishedAt != null;
+    }
+}
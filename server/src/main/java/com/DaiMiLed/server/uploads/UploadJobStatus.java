@@ -0,0 +1,8 @@
+package com.DaiMiLed.server.uploads;
+
+public enum UploadJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,78 @@
+package com.DaiMiLed.server.uploads;
+
+import com.DaiMiLed.server.exceptions.UploadCapacityExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the total number of upload bytes that may be in flight on this node.
+ * Permits are counted in KiB so the limit fits into a {@link Semaphore}.
+ */
+@Slf4j
+@Component
+public class UploadThrottle {
+
+    private static final long PERMIT_SIZE = 1024;
+
+    private final Semaphore inFlight;
+    private final int maxPermits;
+    private final long acquireTimeoutMs;
+
+    public UploadThrottle(
+            @Value("${app.upload.max-in-flight-bytes}") DataSize maxInFlightBytes,
+            @Value("${app.upload.acquire-timeout-ms}") long acquireTimeoutMs) {
+        this.maxPermits = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxInFlightBytes.toBytes() / PERMIT_SIZE));
+        this.inFlight = new Semaphore(maxPermits, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    /**
+     * Reserves room for an upload of the given size. A single upload larger
+     * than the whole budget is clamped so it can still run on an idle node.
+     *
+     * @param bytes size of the upload
+     * @return permit that must be closed once the upload has finished
+     * @throws UploadCapacityExceededException if the budget is exhausted
+     */
+    public Permit acquire(long bytes) {
+        int permits = (int) Math.min(maxPermits, Math.max(1, (bytes + PERMIT_SIZE - 1) / PERMIT_SIZE));
+
+        try {
+            if (!inFlight.tryAcquire(permits, acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Upload of {} bytes rejected, in-flight budget exhausted", bytes);
+                throw new UploadCapacityExceededException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UploadCapacityExceededException();
+        }
+
+        return new Permit(permits);
+    }
+
+    public long availableBytes() {
+        return inFlight.availablePermits() * PERMIT_SIZE;
+    }
+
+    public final class Permit implements AutoCloseable {
+        private final int permits;
+        private boolean released;
+
+        private Permit(int permits) {
+            this.permits = permits;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                inFlight.release(permits);
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+-- A direct upload is recorded once per storage key, even when two confirms
+-- of the same upload race each other; the loser's insert fails and it
+-- returns the material the winner recorded. Only direct uploads (public ids
+-- under Materials/direct/) are covered: deduplicated uploads legitimately
+-- share a storage key. Built CONCURRENTLY like V2.
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_materials_direct_storage_key
+    ON materials (storage_key)
+    WHERE storage_key LIKE 'Materials/direct/%';
@@ -0,0 +1,32 @@
+-- Baseline of the schema previously created by hibernate ddl-auto=update.
+-- Written to be idempotent so it also runs cleanly against databases that
+-- were created before migrations were introduced.
+
+CREATE TABLE IF NOT EXISTS roles (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_roles_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    role_id BIGINT NOT NULL,
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT fk_users_role FOREIGN KEY (role_id) REFERENCES roles (id)
+);
+
+CREATE TABLE IF NOT EXISTS materials (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    subject VARCHAR(255) NOT NULL,
+    url VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    user_id BIGINT NOT NULL,
+    CONSTRAINT fk_materials_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+ALTER TABLE materials ADD COLUMN IF NOT EXISTS storage_key VARCHAR(255);
+ALTER TABLE materials ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
@@ -0,0 +1,12 @@
+-- Built CONCURRENTLY so existing tables stay writable while the indexes are
+-- created; Flyway runs this migration outside a transaction. An interrupted
+-- build leaves an INVALID index behind, which SchemaIndexVerifier reports.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_materials_subject_created_id
+    ON materials (subject, created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_materials_user_created_id
+    ON materials (user_id, created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_materials_content_hash
+    ON materials (content_hash);
@@ -0,0 +1,5 @@
+-- Listing index for the subject_id column added in V3. Built CONCURRENTLY
+-- in its own migration, like V2, so Flyway runs it outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_materials_subject_id_created_id
+    ON materials (subject_id, created_at, id);
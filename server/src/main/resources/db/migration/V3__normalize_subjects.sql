@@ -0,0 +1,29 @@
+-- Moves the free-text materials.subject column into a subjects table.
+-- Names that only differ in case or spacing are merged into one subject.
+-- The listing index on subject_id is built CONCURRENTLY in V3_1.
+
+CREATE TABLE subjects (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    normalized_name VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_subjects_normalized_name UNIQUE (normalized_name)
+);
+
+INSERT INTO subjects (name, normalized_name)
+SELECT MIN(btrim(regexp_replace(subject, '\s+', ' ', 'g'))),
+       lower(btrim(regexp_replace(subject, '\s+', ' ', 'g')))
+FROM materials
+GROUP BY lower(btrim(regexp_replace(subject, '\s+', ' ', 'g')));
+
+ALTER TABLE materials ADD COLUMN subject_id INTEGER;
+
+UPDATE materials m
+SET subject_id = s.id
+FROM subjects s
+WHERE s.normalized_name = lower(btrim(regexp_replace(m.subject, '\s+', ' ', 'g')));
+
+ALTER TABLE materials ALTER COLUMN subject_id SET NOT NULL;
+ALTER TABLE materials ADD CONSTRAINT fk_materials_subject FOREIGN KEY (subject_id) REFERENCES subjects (id);
+
+DROP INDEX IF EXISTS idx_materials_subject_created_id;
+ALTER TABLE materials DROP COLUMN subject;
@@ -0,0 +1,5 @@
+-- GIN index for the search vector added in V4. Built CONCURRENTLY in its
+-- own migration, like V2, so Flyway runs it outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_materials_search_vector
+    ON materials USING GIN (search_vector);
@@ -0,0 +1,28 @@
+-- Full-text search over materials. The search vector is kept in sync with
+-- every insert and update by a trigger, so no application code maintains
+-- it. A trigger instead of a stored generated column, because adding a
+-- generated column rewrites the whole table under an exclusive lock; the
+-- plain column with a constant default is added without touching rows.
+-- Existing rows have no filename or text yet, so they start out empty and
+-- are filled in when the processing pipeline stores their text. The
+-- 'simple' configuration is used because materials are written in several
+-- languages and must not be stemmed as English. The GIN index is built
+-- CONCURRENTLY in V4_1.
+
+ALTER TABLE materials ADD COLUMN original_filename VARCHAR(255);
+ALTER TABLE materials ADD COLUMN extracted_text TEXT;
+ALTER TABLE materials ADD COLUMN search_vector tsvector NOT NULL DEFAULT ''::tsvector;
+
+CREATE FUNCTION materials_search_vector_refresh() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.search_vector :=
+        setweight(to_tsvector('simple', regexp_replace(coalesce(NEW.original_filename, ''), '[^[:alnum:]]+', ' ', 'g')), 'A')
+        || setweight(to_tsvector('simple', left(coalesce(NEW.extracted_text, ''), 200000)), 'C');
+    RETURN NEW;
+END
+$$;
+
+CREATE TRIGGER trg_materials_search_vector
+    BEFORE INSERT OR UPDATE OF original_filename, extracted_text ON materials
+    FOR EACH ROW EXECUTE FUNCTION materials_search_vector_refresh();
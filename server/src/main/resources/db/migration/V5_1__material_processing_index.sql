@@ -0,0 +1,7 @@
+-- Partial index the processing sweep scans for unfinished materials. Built
+-- CONCURRENTLY in its own migration, like V2, so Flyway runs it outside a
+-- transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_materials_processing_pending
+    ON materials (id)
+    WHERE processing_status IN ('PENDING', 'PROCESSING');
@@ -0,0 +1,9 @@
+-- State for the post-upload processing pipeline (text extraction and
+-- thumbnails). Existing materials start as PENDING so they are backfilled.
+-- The constant defaults are stored in the catalog, so none of these columns
+-- rewrites the table; the sweep index is built CONCURRENTLY in V5_1.
+
+ALTER TABLE materials ADD COLUMN thumbnail_url VARCHAR(255);
+ALTER TABLE materials ADD COLUMN processing_status VARCHAR(16) NOT NULL DEFAULT 'PENDING';
+ALTER TABLE materials ADD COLUMN processing_attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE materials ADD COLUMN processing_started_at TIMESTAMP(6) WITH TIME ZONE;
@@ -0,0 +1,5 @@
+-- Direct uploads are confirmed by their storage key, so a repeated confirm
+-- finds the material it already recorded. Built CONCURRENTLY like V2.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_materials_storage_key
+    ON materials (storage_key);
@@ -0,0 +1,18 @@
+-- Resumable upload sessions. The bytes live in app.upload.resumable.dir;
+-- this table only tracks how far each upload got, so any node can take
+-- over the next chunk.
+
+CREATE TABLE upload_sessions (
+    id UUID PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    original_filename VARCHAR(255),
+    upload_length BIGINT NOT NULL,
+    upload_offset BIGINT NOT NULL DEFAULT 0,
+    material_id BIGINT,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT fk_upload_sessions_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_upload_sessions_updated_at ON upload_sessions (updated_at);
@@ -0,0 +1,31 @@
+-- Databases first created by ddl-auto=update kept Hibernate's generated
+-- UK... names for the unique constraints on users, because V1 only creates
+-- tables that are missing. Registration tells a taken username from a
+-- taken email by constraint name, so both are renamed to the V1 names.
+
+DO $$
+DECLARE
+    col TEXT;
+    existing NAME;
+BEGIN
+    FOREACH col IN ARRAY ARRAY['username', 'email'] LOOP
+        IF NOT EXISTS (
+            SELECT 1 FROM pg_constraint
+            WHERE conrelid = 'users'::regclass AND conname = 'uk_users_' || col
+        ) THEN
+            SELECT c.conname INTO existing
+            FROM pg_constraint c
+            JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+            WHERE c.conrelid = 'users'::regclass
+              AND c.contype = 'u'
+              AND cardinality(c.conkey) = 1
+              AND a.attname = col
+            LIMIT 1;
+
+            IF existing IS NOT NULL THEN
+                EXECUTE format('ALTER TABLE users RENAME CONSTRAINT %I TO %I', existing, 'uk_users_' || col);
+            END IF;
+        END IF;
+    END LOOP;
+END
+$$;
@@ -0,0 +1,250 @@
+package com.DaiMiLed.server.services.Materials.MaterialsImpl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import com.DaiMiLed.server.dtos.Materials.ResumableUploadStatus;
+import com.DaiMiLed.server.exceptions.InvalidUploadRequestException;
+import com.DaiMiLed.server.exceptions.UploadConflictException;
+import com.DaiMiLed.server.exceptions.UploadExeption;
+import com.DaiMiLed.server.jwt.AuthenticatedUser;
+import com.DaiMiLed.server.models.RoleName;
+import com.DaiMiLed.server.models.UploadSession;
+import com.DaiMiLed.server.repositories.UploadSessionRepository;
+import com.DaiMiLed.server.services.Materials.MaterialsService;
+
+class ResumableUploadServiceImplTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    private static final AuthenticatedUser OWNER = new AuthenticatedUser(7L, "owner", RoleName.values()[0]);
+
+    @TempDir
+    Path uploadDir;
+
+    private UploadSessionRepository repository;
+
+    private MaterialsService materialsService;
+
+    private ResumableUploadServiceImpl service;
+
+    private UploadSession session;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository = mock(UploadSessionRepository.class);
+        materialsService = mock(MaterialsService.class);
+        service = new ResumableUploadServiceImpl(
+                repository, materialsService, uploadDir, DataSize.ofMegabytes(1), Duration.ofHours(1));
+
+        session = new UploadSession(OWNER.getId(), "Math", "notes.txt", CONTENT.length);
+        when(repository.findById(session.getId())).thenReturn(Optional.of(session));
+        // The repository updates are compare-and-set on the offset; mirror them on the session.
+        when(repository.advanceOffset(eq(session.getId()), anyLong(), anyLong(), any()))
+                .thenAnswer(call -> moveOffset(call.getArgument(1), call.getArgument(2)));
+        when(repository.rewindOffset(eq(session.getId()), anyLong(), anyLong(), any()))
+                .thenAnswer(call -> moveOffset(call.getArgument(1), call.getArgument(2)));
+        when(repository.markCompleted(eq(session.getId()), any(), any())).thenAnswer(call -> {
+            ReflectionTestUtils.setField(session, "materialId", call.getArgument(1));
+            return 1;
+        });
+    }
+
+    @Test
+    void parseMetadataDecodesBase64Values() {
+        Map<String, String> values = ResumableUploadServiceImpl.parseMetadata(
+                "subject " + base64("Math") + ", filename " + base64("notes 1.pdf") + ",is_draft");
+
+        assertEquals("Math", values.get("subject"));
+        assertEquals("notes 1.pdf", values.get("filename"));
+        assertEquals("", values.get("is_draft"));
+    }
+
+    @Test
+    void parseMetadataOfNothingIsEmpty() {
+        assertTrue(ResumableUploadServiceImpl.parseMetadata(null).isEmpty());
+        assertTrue(ResumableUploadServiceImpl.parseMetadata(" ").isEmpty());
+    }
+
+    @Test
+    void parseMetadataRejectsValuesThatAreNotBase64() {
+        assertThrows(InvalidUploadRequestException.class,
+                () -> ResumableUploadServiceImpl.parseMetadata("subject not*base64"));
+    }
+
+    @Test
+    void chunkAtAnotherOffsetIsRejected() {
+        assertThrows(UploadConflictException.class, () -> append(3, chunk(0, 4)));
+
+        assertEquals(0, session.getUploadOffset());
+        assertFalse(Files.exists(partFile()));
+    }
+
+    @Test
+    void missingFileRewindsTheSessionInsteadOfLeavingAHole() throws IOException {
+        // The first bytes went to another node, or tmp was cleared since.
+        moveOffset(0, 4);
+
+        UploadConflictException conflict = assertThrows(UploadConflictException.class, () -> append(4, chunk(4, 10)));
+
+        assertEquals("Upload offset is 0", conflict.getMessage());
+        assertEquals(0, session.getUploadOffset());
+        assertEquals(0, Files.size(partFile()));
+        verify(materialsService, never()).crateMaterial(any(), any(Path.class), any(), any());
+    }
+
+    @Test
+    void shorterFileRewindsToTheBytesItHolds() throws IOException {
+        Files.write(partFile(), chunk(0, 2).readAllBytes());
+        moveOffset(0, 6);
+
+        assertThrows(UploadConflictException.class, () -> append(6, chunk(6, 10)));
+        assertEquals(2, session.getUploadOffset());
+
+        expectMaterial(42L);
+        ResumableUploadStatus status = append(2, chunk(2, 10));
+
+        assertEquals(CONTENT.length, status.getOffset());
+        assertEquals(42L, status.getMaterialId());
+    }
+
+    @Test
+    void bytesPastTheRecordedOffsetAreDropped() throws IOException {
+        // Written, but the offset update never happened.
+        Files.write(partFile(), "0123xxxx".getBytes(StandardCharsets.US_ASCII));
+        moveOffset(0, 4);
+
+        AtomicReference<byte[]> stored = expectMaterial(42L);
+        append(4, chunk(4, 10));
+
+        assertArrayEquals(CONTENT, stored.get());
+    }
+
+    @Test
+    void interruptedChunkKeepsTheBytesThatArrived() {
+        InputStream dropped = new InputStream() {
+            private final InputStream received = chunk(0, 4);
+
+            @Override
+            public int read() throws IOException {
+                int b = received.read();
+                if (b == -1) {
+                    throw new IOException("Connection reset");
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int read = received.read(buffer, offset, length);
+                if (read == -1) {
+                    throw new IOException("Connection reset");
+                }
+                return read;
+            }
+        };
+
+        assertThrows(UploadExeption.class, () -> append(0, dropped));
+        assertEquals(4, session.getUploadOffset());
+
+        AtomicReference<byte[]> stored = expectMaterial(42L);
+        ResumableUploadStatus status = append(4, chunk(4, 10));
+
+        assertEquals(42L, status.getMaterialId());
+        assertArrayEquals(CONTENT, stored.get());
+    }
+
+    @Test
+    void emptyPatchAtTheFinalOffsetRetriesAFailedCompletion() {
+        when(materialsService.crateMaterial(any(), any(Path.class), any(), any()))
+                .thenThrow(new UploadExeption("Storage unavailable"));
+
+        assertThrows(UploadExeption.class, () -> append(0, chunk(0, 10)));
+        assertEquals(CONTENT.length, session.getUploadOffset());
+        assertNull(session.getMaterialId());
+
+        AtomicReference<byte[]> stored = expectMaterial(42L);
+        ResumableUploadStatus status = append(CONTENT.length, InputStream.nullInputStream());
+
+        assertEquals(42L, status.getMaterialId());
+        assertArrayEquals(CONTENT, stored.get());
+        assertFalse(Files.exists(partFile()));
+    }
+
+    @Test
+    void chunkPastUploadLengthIsRejected() {
+        InputStream tooLong = new ByteArrayInputStream("0123456789x".getBytes(StandardCharsets.US_ASCII));
+
+        assertThrows(InvalidUploadRequestException.class, () -> append(0, tooLong));
+        verify(materialsService, never()).crateMaterial(any(), any(Path.class), any(), any());
+    }
+
+    private ResumableUploadStatus append(long offset, InputStream chunk) {
+        return service.append(session.getId(), offset, chunk, OWNER);
+    }
+
+    /**
+     * Returns the material id and captures the file contents it was created
+     * from, since the file is deleted right after.
+     */
+    private AtomicReference<byte[]> expectMaterial(Long materialId) {
+        AtomicReference<byte[]> stored = new AtomicReference<>();
+        when(materialsService.crateMaterial(eq("Math"), any(Path.class), eq("notes.txt"), eq(OWNER.getId())))
+                .thenAnswer(call -> {
+                    stored.set(Files.readAllBytes(call.getArgument(1)));
+                    return materialId;
+                });
+        return stored;
+    }
+
+    private int moveOffset(long expectedOffset, long newOffset) {
+        if (session.getUploadOffset() != expectedOffset) {
+            return 0;
+        }
+        ReflectionTestUtils.setField(session, "uploadOffset", newOffset);
+        ReflectionTestUtils.setField(session, "updatedAt", Instant.now());
+        return 1;
+    }
+
+    private Path partFile() {
+        return uploadDir.resolve(session.getId() + ".part");
+    }
+
+    private static InputStream chunk(int from, int to) {
+        return new ByteArrayInputStream(CONTENT, from, to - from);
+    }
+
+    private static String base64(String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}